@@ -0,0 +1,137 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.outbox.CacheInvalidationOutbox;
+import ru.practicum.shareit.outbox.CacheInvalidationType;
+import ru.practicum.shareit.transaction.TransactionHooks;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Кэш подтверждённых интервалов бронирования по вещам.
+ * Загрузка из базы идёт без блокировок, поэтому изменение может закоммититься между запросом и записью в кэш.
+ * Каждое изменение сначала увеличивает поколение вещи, и загруженный список кладётся в кэш,
+ * только если поколение не изменилось с момента перед запросом. Иначе следующий вызов загрузит данные заново.
+ */
+@Component
+public class BookingAvailabilityCache {
+
+    // поколения хранятся по полосам: совпадение полос лишь изредка отбрасывает загрузку, но память не растёт
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final BookingStorageDb bookingStorageDb;
+    private final CacheInvalidationOutbox cacheInvalidationOutbox;
+    private final Map<Integer, ItemTimeline> timelines = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong epoch = new AtomicLong();
+
+    public BookingAvailabilityCache(BookingStorageDb bookingStorageDb, CacheInvalidationOutbox cacheInvalidationOutbox) {
+        this.bookingStorageDb = bookingStorageDb;
+        this.cacheInvalidationOutbox = cacheInvalidationOutbox;
+    }
+
+    public boolean hasOverlap(int itemId, LocalDateTime start, LocalDateTime end) {
+        return timelineOf(itemId).overlaps(start, end);
+    }
+
+    public List<BookingInterval> findBusyIntervals(int itemId, LocalDateTime from, LocalDateTime to) {
+        return timelineOf(itemId).findOverlapping(from, to);
+    }
+
+    public void onStatusChanged(Booking booking) {
+        int itemId = booking.getItem().getId();
+        BookingInterval interval = new BookingInterval(itemId, booking.getId(), booking.getStartBooking(), booking.getEndBooking());
+        boolean approved = booking.getBookingStatus() == BookingStatus.APPROVED;
+        TransactionHooks.afterCommit(() -> {
+            // поколение меняется до обновления: загрузка, идущая параллельно, не положит в кэш устаревший список
+            advanceGeneration(itemId);
+            timelines.computeIfPresent(itemId, (id, timeline) -> approved
+                    ? timeline.with(interval)
+                    : timeline.without(interval.getBookingId()));
+        });
+        // новое бронирование в ожидании не меняет занятые интервалы на других узлах
+        if (booking.getBookingStatus() != BookingStatus.WAITING) {
+            cacheInvalidationOutbox.record(CacheInvalidationType.ITEM_TIMELINE, List.of(itemId));
+        }
+    }
+
+    public void preload(Collection<Integer> itemIds) {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        List<Integer> missing = itemIds.stream()
+                .filter(itemId -> !timelines.containsKey(itemId))
+                .toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        Map<Integer, Long> generationsBeforeLoad = missing.stream()
+                .collect(Collectors.toMap(itemId -> itemId, this::generationOf, (first, second) -> first));
+        Map<Integer, List<BookingInterval>> intervalsByItemId = bookingStorageDb.findApprovedIntervalsByItemIds(missing)
+                .stream()
+                .collect(Collectors.groupingBy(BookingInterval::getItemId));
+        generationsBeforeLoad.forEach((itemId, generation) -> cacheIfUnchanged(itemId, generation,
+                new ItemTimeline(intervalsByItemId.getOrDefault(itemId, List.of()))));
+    }
+
+    public void invalidate(int itemId) {
+        advanceGeneration(itemId);
+        timelines.remove(itemId);
+    }
+
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        timelines.clear();
+    }
+
+    private ItemTimeline timelineOf(int itemId) {
+        ItemTimeline timeline = timelines.get(itemId);
+        if (timeline != null) {
+            return timeline;
+        }
+        // запрос выполняется вне computeIfAbsent: под блокировкой корзины он задерживал бы другие вещи
+        // и закреплял бы виртуальный поток за несущим на время ввода-вывода
+        long generation = generationOf(itemId);
+        ItemTimeline loaded = new ItemTimeline(bookingStorageDb.findApprovedIntervalsByItemId(itemId));
+        // read-only транзакции могут читать из отстающей реплики, такие данные не кэшируются
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loaded;
+        }
+        return cacheIfUnchanged(itemId, generation, loaded);
+    }
+
+    private ItemTimeline cacheIfUnchanged(int itemId, long generation, ItemTimeline loaded) {
+        ItemTimeline cached = timelines.compute(itemId, (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return generationOf(itemId) == generation ? loaded : null;
+        });
+        return cached != null ? cached : loaded;
+    }
+
+    private long generationOf(int itemId) {
+        // оба счётчика только растут, поэтому сумма меняется при любом изменении
+        return epoch.get() + generations.get(stripeOf(itemId));
+    }
+
+    private void advanceGeneration(int itemId) {
+        generations.incrementAndGet(stripeOf(itemId));
+    }
+
+    private static int stripeOf(int itemId) {
+        return Math.floorMod(itemId, GENERATION_STRIPES);
+    }
+
+}
@@ -1,10 +1,26 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.booking.model.BookingExportFormat;
 import ru.practicum.shareit.booking.model.BookingRequestState;
+import ru.practicum.shareit.notification.BookingNotificationService;
+import ru.practicum.shareit.pagination.KeysetPage;
 
 import java.util.List;
 
@@ -13,10 +29,18 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingNotificationService bookingNotificationService;
+    private final BookingExportService bookingExportService;
     private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 100;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, BookingNotificationService bookingNotificationService,
+                             BookingExportService bookingExportService) {
         this.bookingService = bookingService;
+        this.bookingNotificationService = bookingNotificationService;
+        this.bookingExportService = bookingExportService;
     }
 
     @PostMapping
@@ -24,21 +48,59 @@ public class BookingController {
         return bookingService.create(userId, bookingCreateDto);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createBatch(@RequestHeader(REQUEST_HEADER) int userId,
+                                                   @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                   List<@Valid BookingCreateDto> bookingCreateDtos) {
+        return bookingService.createBatch(userId, bookingCreateDtos);
+    }
+
+    @PatchMapping("/batch")
+    public List<BookingBatchResultDto> updateStatusBatch(@RequestHeader(REQUEST_HEADER) int userId,
+                                                         @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                         List<@Valid BookingStatusUpdateDto> updates) {
+        return bookingService.updateStatusBatch(userId, updates);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto findById(@RequestHeader(REQUEST_HEADER) int userId, @PathVariable(name = "bookingId") int bookingId) {
         return bookingService.findById(userId, bookingId);
     }
 
     @GetMapping
-    public List<BookingDto> findAllUsersBookings(@RequestHeader(REQUEST_HEADER) int userId,
-                                                 @RequestParam(name = "state", required = false, defaultValue = "ALL")BookingRequestState bookingRequestState) {
-        return bookingService.findAllUsersBookings(userId, bookingRequestState);
+    public ResponseEntity<List<BookingDto>> findAllUsersBookings(@RequestHeader(REQUEST_HEADER) int userId,
+                                                 @RequestParam(name = "state", required = false, defaultValue = "ALL")BookingRequestState bookingRequestState,
+                                                 @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
+                                                 @RequestParam(name = "size", defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
+                                                 @RequestParam(name = "cursor", required = false) String cursor) {
+        return toResponse(bookingService.findAllUsersBookings(userId, bookingRequestState, from, size, cursor));
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> findAllOwnersBookings(@RequestHeader(REQUEST_HEADER) int ownerId,
-                                                  @RequestParam(name = "state", required = false, defaultValue = "ALL") BookingRequestState bookingRequestState) {
-        return bookingService.findAllBookingsOfOwner(ownerId, bookingRequestState);
+    public ResponseEntity<List<BookingDto>> findAllOwnersBookings(@RequestHeader(REQUEST_HEADER) int ownerId,
+                                                  @RequestParam(name = "state", required = false, defaultValue = "ALL") BookingRequestState bookingRequestState,
+                                                  @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
+                                                  @RequestParam(name = "size", defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
+                                                  @RequestParam(name = "cursor", required = false) String cursor) {
+        return toResponse(bookingService.findAllBookingsOfOwner(ownerId, bookingRequestState, from, size, cursor));
+    }
+
+    @GetMapping(path = "/owner/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOwnersBookings(@RequestHeader(REQUEST_HEADER) int ownerId) {
+        return bookingNotificationService.subscribe(ownerId);
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportOwnersBookings(@RequestHeader(REQUEST_HEADER) int ownerId,
+                                                                      @RequestParam(name = "format", defaultValue = "NDJSON") BookingExportFormat format) {
+        StreamingResponseBody body = bookingExportService.exportOwnerBookings(ownerId, format);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("bookings." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
     }
 
     @PatchMapping("/{bookingId}")
@@ -47,4 +109,12 @@ public class BookingController {
         return bookingService.updateStatus(userId, bookingId, approved);
     }
 
+    private ResponseEntity<List<BookingDto>> toResponse(KeysetPage<BookingDto> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(KeysetPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
+    }
+
 }
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingExportFormat;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.UserStorageDb;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * Выгрузка всей истории бронирований владельца в NDJSON или CSV.
+ * Строки читаются курсором из read-only транзакции и пишутся в ответ по одной: каждое бронирование
+ * отсоединяется от контекста сразу после записи, поэтому память не растёт с длиной истории.
+ * Транзакция открывается в потоке записи ответа, владелец проверяется заранее, чтобы вернуть 404 до начала выгрузки.
+ */
+@Service
+public class BookingExportService {
+
+    private static final String CSV_HEADER = "id,start,end,status,item_id,item_name,booker_id,booker_name\n";
+
+    private final BookingStorageDb bookingStorageDb;
+    private final UserStorageDb userStorageDb;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingExportService(BookingStorageDb bookingStorageDb, UserStorageDb userStorageDb,
+                                EntityManager entityManager, ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.bookingStorageDb = bookingStorageDb;
+        this.userStorageDb = userStorageDb;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportOwnerBookings(int ownerId, BookingExportFormat format) {
+        userStorageDb.findCachedById(ownerId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+        return outputStream -> transactionTemplate.executeWithoutResult(status -> write(ownerId, format, outputStream));
+    }
+
+    private void write(int ownerId, BookingExportFormat format, OutputStream outputStream) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try (Stream<Booking> bookings = bookingStorageDb.streamOwnerBookings(ownerId)) {
+            if (format == BookingExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+            }
+            for (Booking booking : (Iterable<Booking>) bookings::iterator) {
+                BookingDto bookingDto = BookingMapper.mapBookingToBookingDto(booking);
+                detach(booking);
+                writer.write(format == BookingExportFormat.CSV ? toCsv(bookingDto) : toJson(bookingDto));
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void detach(Booking booking) {
+        entityManager.detach(booking);
+        entityManager.detach(booking.getItem());
+        entityManager.detach(booking.getBookingUser());
+    }
+
+    private String toJson(BookingDto bookingDto) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(bookingDto) + "\n";
+    }
+
+    private static String toCsv(BookingDto bookingDto) {
+        return String.join(",",
+                String.valueOf(bookingDto.getId()),
+                String.valueOf(bookingDto.getStart()),
+                String.valueOf(bookingDto.getEnd()),
+                bookingDto.getStatus().name(),
+                String.valueOf(bookingDto.getItem().getId()),
+                escapeCsv(bookingDto.getItem().getName()),
+                String.valueOf(bookingDto.getBooker().getId()),
+                escapeCsv(bookingDto.getBooker().getName())) + "\n";
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+}
@@ -2,72 +2,125 @@ package ru.practicum.shareit.booking;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.validation.ValidationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
 import ru.practicum.shareit.booking.model.BookingRequestState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingSummary;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.PermissionException;
+import ru.practicum.shareit.item.ItemBookingDatesUpdater;
 import ru.practicum.shareit.item.ItemStorageDb;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.metrics.ShareItMetrics;
+import ru.practicum.shareit.notification.BookingEvent;
+import ru.practicum.shareit.notification.BookingEventType;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.KeysetPage;
 import ru.practicum.shareit.user.UserStorageDb;
 import ru.practicum.shareit.user.model.User;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class BookingService {
 
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+
     private final BookingStorageDb bookingStorageDb;
     private final ItemStorageDb itemStorageDb;
     private final UserStorageDb userStorageDb;
+    private final BookingAvailabilityCache availabilityCache;
+    private final ItemBookingDatesUpdater itemBookingDatesUpdater;
+    private final ShareItMetrics shareItMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
     private final Map<BookingRequestState, BookingStrategy> bookerStrategyMapForBooker = new EnumMap<>(BookingRequestState.class);
     private final Map<BookingRequestState, BookingStrategy> bookerStrategyMapForOwner = new EnumMap<>(BookingRequestState.class);
 
-    public BookingService(BookingStorageDb bookingStorageDb, ItemStorageDb itemStorageDb, UserStorageDb userStorageDb) {
+    public BookingService(BookingStorageDb bookingStorageDb, ItemStorageDb itemStorageDb, UserStorageDb userStorageDb,
+                          BookingAvailabilityCache availabilityCache, ItemBookingDatesUpdater itemBookingDatesUpdater,
+                          ShareItMetrics shareItMetrics, ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager) {
         this.bookingStorageDb = bookingStorageDb;
         this.itemStorageDb = itemStorageDb;
         this.userStorageDb = userStorageDb;
+        this.availabilityCache = availabilityCache;
+        this.itemBookingDatesUpdater = itemBookingDatesUpdater;
+        this.shareItMetrics = shareItMetrics;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @PostConstruct
     private void initBookerStrategiesForBooker() {
         bookerStrategyMapForBooker.put(BookingRequestState.ALL,
-                (bookerId, now) -> bookingStorageDb.findAllByBookingUserIdOrderByStartBookingDesc(bookerId));
+                (bookerId, now, cursor, page) -> bookingStorageDb.findBookerBookings(bookerId,
+                        cursor.getTimestamp(), cursor.getId(), page));
         bookerStrategyMapForBooker.put(BookingRequestState.CURRENT,
-                (bookerId, now) -> bookingStorageDb.findAllByBookerIdAndCurrentBookings(bookerId, now));
+                (bookerId, now, cursor, page) -> bookingStorageDb.findBookerCurrentBookings(bookerId, now,
+                        cursor.getTimestamp(), cursor.getId(), page));
         bookerStrategyMapForBooker.put(BookingRequestState.PAST,
-                (bookerId, now) -> bookingStorageDb.findAllByBookingUserIdAndEndBookingIsBeforeOrderByStartBookingDesc(bookerId, now));
+                (bookerId, now, cursor, page) -> bookingStorageDb.findBookerPastBookings(bookerId, now,
+                        cursor.getTimestamp(), cursor.getId(), page));
         bookerStrategyMapForBooker.put(BookingRequestState.FUTURE,
-                (bookerId, now) -> bookingStorageDb.findAllByBookingUserIdAndStartBookingIsAfterOrderByStartBookingDesc(bookerId, now));
+                (bookerId, now, cursor, page) -> bookingStorageDb.findBookerFutureBookings(bookerId, now,
+                        cursor.getTimestamp(), cursor.getId(), page));
         bookerStrategyMapForBooker.put(BookingRequestState.WAITING,
-                (bookerId, now) -> bookingStorageDb.findAllByBookingUserIdAndBookingStatusOrderByStartBookingDesc(bookerId, BookingStatus.WAITING));
+                (bookerId, now, cursor, page) -> bookingStorageDb.findBookerBookingsByStatus(bookerId, BookingStatus.WAITING,
+                        cursor.getTimestamp(), cursor.getId(), page));
         bookerStrategyMapForBooker.put(BookingRequestState.REJECTED,
-                (bookerId, now) -> bookingStorageDb.findAllByBookingUserIdAndBookingStatusOrderByStartBookingDesc(bookerId, BookingStatus.REJECTED));
+                (bookerId, now, cursor, page) -> bookingStorageDb.findBookerBookingsByStatus(bookerId, BookingStatus.REJECTED,
+                        cursor.getTimestamp(), cursor.getId(), page));
     }
 
     @PostConstruct
     private void initBookerStrategiesForOwner() {
         bookerStrategyMapForOwner.put(BookingRequestState.ALL,
-                (ownerId, now) -> bookingStorageDb.findAllByItemOwnerUserIdOrderByStartBookingDesc(ownerId));
+                (ownerId, now, cursor, page) -> bookingStorageDb.findOwnerBookings(ownerId,
+                        cursor.getTimestamp(), cursor.getId(), page));
         bookerStrategyMapForOwner.put(BookingRequestState.CURRENT,
-                (ownerId, now) -> bookingStorageDb.findAllByItemUserIdAndCurrentBookings(ownerId, now));
+                (ownerId, now, cursor, page) -> bookingStorageDb.findOwnerCurrentBookings(ownerId, now,
+                        cursor.getTimestamp(), cursor.getId(), page));
         bookerStrategyMapForOwner.put(BookingRequestState.PAST,
-                (ownerId, now) -> bookingStorageDb.findAllByItemOwnerUserIdAndEndBookingIsBeforeOrderByStartBookingDesc(ownerId, now));
+                (ownerId, now, cursor, page) -> bookingStorageDb.findOwnerPastBookings(ownerId, now,
+                        cursor.getTimestamp(), cursor.getId(), page));
         bookerStrategyMapForOwner.put(BookingRequestState.FUTURE,
-                (ownerId, now) -> bookingStorageDb.findAllByItemOwnerUserIdAndStartBookingIsAfterOrderByStartBookingDesc(ownerId, now));
+                (ownerId, now, cursor, page) -> bookingStorageDb.findOwnerFutureBookings(ownerId, now,
+                        cursor.getTimestamp(), cursor.getId(), page));
         bookerStrategyMapForOwner.put(BookingRequestState.WAITING,
-                (ownerId, now) -> bookingStorageDb.findAllByItemOwnerUserIdAndBookingStatusOrderByStartBookingDesc(ownerId, BookingStatus.WAITING));
+                (ownerId, now, cursor, page) -> bookingStorageDb.findOwnerBookingsByStatus(ownerId, BookingStatus.WAITING,
+                        cursor.getTimestamp(), cursor.getId(), page));
         bookerStrategyMapForOwner.put(BookingRequestState.REJECTED,
-                (ownerId, now) -> bookingStorageDb.findAllByItemOwnerUserIdAndBookingStatusOrderByStartBookingDesc(ownerId, BookingStatus.REJECTED));
+                (ownerId, now, cursor, page) -> bookingStorageDb.findOwnerBookingsByStatus(ownerId, BookingStatus.REJECTED,
+                        cursor.getTimestamp(), cursor.getId(), page));
     }
 
     @Transactional
@@ -80,8 +133,9 @@ public class BookingService {
 
         checkOverlappingBookings(item, bookingCreateDto.getStart(), bookingCreateDto.getEnd());
 
-        Booking booking = BookingMapper.mapBookingCreateToBooking(bookingCreateDto, item, booker);
-        return BookingMapper.mapBookingToBookingDto(bookingStorageDb.save(booking));
+        Booking booking = saveBooking(BookingMapper.mapBookingCreateToBooking(bookingCreateDto, item, booker));
+        availabilityCache.onStatusChanged(booking);
+        return publishEvent(BookingEventType.CREATED, booking);
     }
 
     @Transactional
@@ -99,9 +153,143 @@ public class BookingService {
             updateBookingStatus(booking, userId);
         }
 
-        return BookingMapper.mapBookingToBookingDto(bookingStorageDb.save(booking));
+        Booking updatedBooking = saveBooking(booking);
+        availabilityCache.onStatusChanged(updatedBooking);
+        itemBookingDatesUpdater.refresh(List.of(updatedBooking.getItem().getId()));
+        return publishEvent(BookingEventType.STATUS_CHANGED, updatedBooking);
+    }
+
+    /**
+     * Все принятые записи пакета сохраняются одним сбросом. Если при сбросе сработало ограничение на пересечение
+     * одобренных бронирований, транзакция пакета откатывается, а принятые записи повторяются по одной в собственных
+     * транзакциях, чтобы конфликт получила только своя запись.
+     * Записи проверяются по тем же правилам, что и в {@link #create}: новые бронирования ждут подтверждения,
+     * поэтому пересекаются только с одобренными, а не друг с другом.
+     */
+    public List<BookingBatchResultDto> createBatch(int bookerId, List<BookingCreateDto> bookingCreateDtos) {
+        BookingBatchResultDto[] results = new BookingBatchResultDto[bookingCreateDtos.size()];
+        List<Integer> conflictedIndexes = transactionTemplate.execute(status ->
+                createBatchInTransaction(bookerId, bookingCreateDtos, results, status));
+        for (int index : conflictedIndexes) {
+            results[index] = inOwnTransaction(index, () -> create(bookerId, bookingCreateDtos.get(index)));
+        }
+        return Arrays.asList(results);
+    }
+
+    private List<Integer> createBatchInTransaction(int bookerId, List<BookingCreateDto> bookingCreateDtos,
+                                                   BookingBatchResultDto[] results, TransactionStatus status) {
+        User booker = findUserById(bookerId);
+        Map<Integer, Item> items = itemStorageDb.findAllById(bookingCreateDtos.stream()
+                        .map(BookingCreateDto::getItemId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        availabilityCache.preload(items.keySet());
+
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<Booking> accepted = new ArrayList<>();
+        for (int i = 0; i < bookingCreateDtos.size(); i++) {
+            BookingCreateDto bookingCreateDto = bookingCreateDtos.get(i);
+            try {
+                checkBookingDate(bookingCreateDto);
+                Item item = Optional.ofNullable(items.get(bookingCreateDto.getItemId()))
+                        .orElseThrow(() -> new NotFoundException("Предмет не найден"));
+                checkItemAvailable(item);
+                checkOverlappingBookings(item, bookingCreateDto.getStart(), bookingCreateDto.getEnd());
+                acceptedIndexes.add(i);
+                accepted.add(BookingMapper.mapBookingCreateToBooking(bookingCreateDto, item, booker));
+            } catch (ValidationException | NotFoundException | PermissionException e) {
+                results[i] = BookingMapper.mapToBatchResult(i, e);
+            }
+        }
+
+        List<Booking> saved = bookingStorageDb.saveAll(accepted);
+        if (!flushBatch()) {
+            status.setRollbackOnly();
+            return acceptedIndexes;
+        }
+        for (int i = 0; i < saved.size(); i++) {
+            availabilityCache.onStatusChanged(saved.get(i));
+            int index = acceptedIndexes.get(i);
+            results[index] = BookingMapper.mapToBatchResult(index, publishEvent(BookingEventType.CREATED, saved.get(i)));
+        }
+        return List.of();
+    }
+
+    /**
+     * Как {@link #createBatch}: при конфликте на сбросе изменённые записи повторяются по одной.
+     * Одобрения внутри пакета проверяются и друг с другом, как при последовательных вызовах {@link #updateStatus}.
+     */
+    public List<BookingBatchResultDto> updateStatusBatch(int userId, List<BookingStatusUpdateDto> updates) {
+        BookingBatchResultDto[] results = new BookingBatchResultDto[updates.size()];
+        List<Integer> conflictedIndexes = transactionTemplate.execute(status ->
+                updateStatusBatchInTransaction(userId, updates, results, status));
+        for (int index : conflictedIndexes) {
+            BookingStatusUpdateDto update = updates.get(index);
+            results[index] = inOwnTransaction(index,
+                    () -> updateStatus(userId, update.getBookingId(), update.getApproved()));
+        }
+        return Arrays.asList(results);
     }
 
+    private List<Integer> updateStatusBatchInTransaction(int userId, List<BookingStatusUpdateDto> updates,
+                                                         BookingBatchResultDto[] results, TransactionStatus status) {
+        Map<Integer, Booking> bookings = bookingStorageDb.findAllWithItemAndBookerByIdIn(updates.stream()
+                        .map(BookingStatusUpdateDto::getBookingId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        availabilityCache.preload(bookings.values().stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet()));
+
+        List<Integer> updatedIndexes = new ArrayList<>();
+        List<Booking> updated = new ArrayList<>();
+        Set<Integer> seenBookingIds = new HashSet<>();
+        Map<Integer, ItemTimeline> batchTimelines = new HashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            BookingStatusUpdateDto update = updates.get(i);
+            try {
+                Booking booking = Optional.ofNullable(bookings.get(update.getBookingId()))
+                        .orElseThrow(() -> new NotFoundException("Бронирование не найдено"));
+                if (!seenBookingIds.add(booking.getId())) {
+                    throw new ValidationException("Бронирование встречается в пакете несколько раз");
+                }
+                if (!hasAccessToUpdate(booking, userId)) {
+                    throw new ValidationException("Недостаточно прав для обновления бронирования");
+                }
+                if (update.getApproved()) {
+                    checkOverlappingBookings(booking.getItem(), booking.getStartBooking(), booking.getEndBooking());
+                    addToBatchTimeline(batchTimelines, new BookingInterval(booking.getItem().getId(), booking.getId(),
+                            booking.getStartBooking(), booking.getEndBooking()));
+                    booking.setBookingStatus(BookingStatus.APPROVED);
+                } else {
+                    updateBookingStatus(booking, userId);
+                }
+                updatedIndexes.add(i);
+                updated.add(booking);
+            } catch (ValidationException | NotFoundException | PermissionException e) {
+                results[i] = BookingMapper.mapToBatchResult(i, e);
+            }
+        }
+
+        if (!flushBatch()) {
+            status.setRollbackOnly();
+            return updatedIndexes;
+        }
+        for (int i = 0; i < updated.size(); i++) {
+            availabilityCache.onStatusChanged(updated.get(i));
+            int index = updatedIndexes.get(i);
+            results[index] = BookingMapper.mapToBatchResult(index,
+                    publishEvent(BookingEventType.STATUS_CHANGED, updated.get(i)));
+        }
+        itemBookingDatesUpdater.refresh(updated.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet()));
+        return List.of();
+    }
+
+    @Transactional(readOnly = true)
     public BookingDto findById(int userId, int bookingId) {
         Booking booking = findBookingById(bookingId);
 
@@ -112,16 +300,24 @@ public class BookingService {
         return BookingMapper.mapBookingToBookingDto(booking);
     }
 
-    public List<BookingDto> findAllUsersBookings(int bookerId, BookingRequestState state) {
+    @Transactional(readOnly = true)
+    public KeysetPage<BookingDto> findAllUsersBookings(int bookerId, BookingRequestState state, int from, int size,
+                                                       String cursor) {
         findUserById(bookerId);
-        List<Booking> bookings = getBookingsByStateForBooker(bookerId, state);
-        return BookingMapper.mapBookingsToBookingDtos(bookings);
+        Slice<BookingSummary> bookings = shareItMetrics.recordBookingQuery(ShareItMetrics.VIEW_BOOKER, state,
+                () -> getBookingsByStateForBooker(bookerId, state, KeysetCursor.decode(cursor), KeysetPage.toPageable(from, size, cursor)),
+                Slice::getNumberOfElements);
+        return KeysetPage.of(bookings.map(BookingMapper::mapBookingSummaryToBookingDto), BookingService::toCursor);
     }
 
-    public List<BookingDto> findAllBookingsOfOwner(int ownerId, BookingRequestState state) {
+    @Transactional(readOnly = true)
+    public KeysetPage<BookingDto> findAllBookingsOfOwner(int ownerId, BookingRequestState state, int from, int size,
+                                                         String cursor) {
         findUserById(ownerId);
-        List<Booking> bookings = getBookingsByStateForOwner(ownerId, state);
-        return BookingMapper.mapBookingsToBookingDtos(bookings);
+        Slice<BookingSummary> bookings = shareItMetrics.recordBookingQuery(ShareItMetrics.VIEW_OWNER, state,
+                () -> getBookingsByStateForOwner(ownerId, state, KeysetCursor.decode(cursor), KeysetPage.toPageable(from, size, cursor)),
+                Slice::getNumberOfElements);
+        return KeysetPage.of(bookings.map(BookingMapper::mapBookingSummaryToBookingDto), BookingService::toCursor);
     }
 
     private void checkBookingDate(BookingCreateDto bookingCreateDto) {
@@ -131,27 +327,84 @@ public class BookingService {
     }
 
     private User findUserById(int userId) {
-        return userStorageDb.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+        return userStorageDb.findCachedById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
     }
 
     private Item findAvailableItemById(int itemId) {
-        Item item = itemStorageDb.findById(itemId).orElseThrow(() -> new NotFoundException("Предмет не найден"));
+        Item item = itemStorageDb.findCachedById(itemId).orElseThrow(() -> new NotFoundException("Предмет не найден"));
+        checkItemAvailable(item);
+        return item;
+    }
+
+    private void checkItemAvailable(Item item) {
         if (!item.getAvailable()) {
             throw new ValidationException("Предмет не доступен для бронирования");
         }
-        return item;
     }
 
     private void checkOverlappingBookings(Item item, LocalDateTime start, LocalDateTime end) {
-        List<Booking> overlappingBookings = bookingStorageDb
-                .findAllBookingsWithOverlappingDateRange(item.getId(), start, end);
-        if (!overlappingBookings.isEmpty()) {
+        boolean overlaps = availabilityCache.hasOverlap(item.getId(), start, end);
+        shareItMetrics.recordOverlapCheck(ShareItMetrics.OVERLAP_SOURCE_CACHE, overlaps);
+        if (overlaps) {
             throw new ValidationException("Пересекаются даты бронирования");
         }
     }
 
+    private void addToBatchTimeline(Map<Integer, ItemTimeline> batchTimelines, BookingInterval interval) {
+        ItemTimeline timeline = batchTimelines.getOrDefault(interval.getItemId(), new ItemTimeline(List.of()));
+        boolean overlaps = timeline.overlaps(interval.getStart(), interval.getEnd());
+        shareItMetrics.recordOverlapCheck(ShareItMetrics.OVERLAP_SOURCE_BATCH, overlaps);
+        if (overlaps) {
+            throw new ValidationException("Пересекаются даты бронирования внутри пакета");
+        }
+        batchTimelines.put(interval.getItemId(), timeline.with(interval));
+    }
+
+    private boolean flushBatch() {
+        try {
+            bookingStorageDb.flush();
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                shareItMetrics.recordOverlapCheck(ShareItMetrics.OVERLAP_SOURCE_CONSTRAINT, true);
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private BookingBatchResultDto inOwnTransaction(int index, Supplier<BookingDto> operation) {
+        try {
+            BookingDto booking = transactionTemplate.execute(status -> operation.get());
+            return BookingMapper.mapToBatchResult(index, booking);
+        } catch (ValidationException | NotFoundException | PermissionException e) {
+            return BookingMapper.mapToBatchResult(index, e);
+        }
+    }
+
+    private Booking saveBooking(Booking booking) {
+        try {
+            return bookingStorageDb.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                shareItMetrics.recordOverlapCheck(ShareItMetrics.OVERLAP_SOURCE_CONSTRAINT, true);
+                throw new ValidationException("Пересекаются даты бронирования");
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isExclusionViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && EXCLUSION_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Booking findBookingById(int bookingId) {
-        return bookingStorageDb.findById(bookingId)
+        return bookingStorageDb.findWithItemAndBookerById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование не найдено"));
     }
 
@@ -173,22 +426,34 @@ public class BookingService {
         }
     }
 
-    private List<Booking> getBookingsByStateForBooker(int bookerId, BookingRequestState bookingRequestState) {
+    private Slice<BookingSummary> getBookingsByStateForBooker(int bookerId, BookingRequestState bookingRequestState,
+                                                       KeysetCursor cursor, Pageable pageable) {
         LocalDateTime currentTimeForBookingCheck = LocalDateTime.now();
         BookingStrategy strategy = bookerStrategyMapForBooker.get(bookingRequestState);
         if (strategy == null) {
             throw new IllegalArgumentException("Неверный статус запроса бронирования!");
         }
-        return strategy.find(bookerId, currentTimeForBookingCheck);
+        return strategy.find(bookerId, currentTimeForBookingCheck, cursor, pageable);
     }
 
-    private List<Booking> getBookingsByStateForOwner(int ownerId, BookingRequestState bookingRequestState) {
+    private Slice<BookingSummary> getBookingsByStateForOwner(int ownerId, BookingRequestState bookingRequestState,
+                                                      KeysetCursor cursor, Pageable pageable) {
         LocalDateTime currentTimeForBookingCheck = LocalDateTime.now();
         BookingStrategy strategy = bookerStrategyMapForOwner.get(bookingRequestState);
         if (strategy == null) {
             throw new IllegalArgumentException("Неверный статус запроса бронирования!");
         }
-        return strategy.find(ownerId, currentTimeForBookingCheck);
+        return strategy.find(ownerId, currentTimeForBookingCheck, cursor, pageable);
+    }
+
+    private BookingDto publishEvent(BookingEventType type, Booking booking) {
+        BookingDto bookingDto = BookingMapper.mapBookingToBookingDto(booking);
+        eventPublisher.publishEvent(new BookingEvent(type, booking.getItem().getOwnerUser().getId(), bookingDto));
+        return bookingDto;
+    }
+
+    private static KeysetCursor toCursor(BookingDto bookingDto) {
+        return new KeysetCursor(bookingDto.getStart(), bookingDto.getId());
     }
 
     private boolean checkIdOfItemOwner(Booking booking, int userId) {
@@ -1,64 +1,119 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingDates;
+import ru.practicum.shareit.booking.model.BookingInterval;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingSummary;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingStorageDb extends JpaRepository<Booking, Integer> {
 
-    @EntityGraph(type = EntityGraph.EntityGraphType.FETCH, attributePaths = {"bookingUser", "item", "item.ownerUser"})
-    List<Booking> findAllByBookingUserIdAndEndBookingIsBeforeOrderByStartBookingDesc(int bookerId, LocalDateTime time);
-
-    @EntityGraph(type = EntityGraph.EntityGraphType.FETCH, attributePaths = {"bookingUser", "item", "item.ownerUser"})
-    List<Booking> findAllByBookingUserIdAndStartBookingIsAfterOrderByStartBookingDesc(int bookerId, LocalDateTime time);
-
-    @EntityGraph(type = EntityGraph.EntityGraphType.FETCH, attributePaths = {"bookingUser", "item", "item.ownerUser"})
-    List<Booking> findAllByBookingUserIdAndBookingStatusOrderByStartBookingDesc(int bookerId, BookingStatus status);
-
-    @EntityGraph(type = EntityGraph.EntityGraphType.FETCH, attributePaths = {"bookingUser", "item", "item.ownerUser"})
-    List<Booking> findAllByItemOwnerUserIdAndEndBookingIsBeforeOrderByStartBookingDesc(int ownerId, LocalDateTime time);
-
-    @EntityGraph(type = EntityGraph.EntityGraphType.FETCH, attributePaths = {"bookingUser", "item", "item.ownerUser"})
-    List<Booking> findAllByItemOwnerUserIdAndStartBookingIsAfterOrderByStartBookingDesc(int ownerId, LocalDateTime time);
-
-    @EntityGraph(type = EntityGraph.EntityGraphType.FETCH, attributePaths = {"bookingUser", "item", "item.ownerUser"})
-    List<Booking> findAllByItemOwnerUserIdAndBookingStatusOrderByStartBookingDesc(int ownerId, BookingStatus status);
-
-    @EntityGraph(type = EntityGraph.EntityGraphType.FETCH, attributePaths = {"bookingUser", "item", "item.ownerUser"})
-    List<Booking> findAllByBookingUserIdAndItemIdAndBookingStatusAndEndBookingIsBefore(int bookerId, int itemId, BookingStatus status, LocalDateTime time);
-
-    @Query("select b from Booking b where b.bookingStatus = 'APPROVED' " +
-            "and b.item.id = ?1 " +
-            "and(?2 <= b.endBooking and ?3 >= b.startBooking)")
-    List<Booking> findAllBookingsWithOverlappingDateRange(@Param("itemId") int itemId, @Param("start") LocalDateTime start,
-                                                          @Param("end") LocalDateTime end);
-
-    List<Booking> findAllByBookingUserIdOrderByStartBookingDesc(int bookerId);
-
-    @Query("select b from Booking b where b.bookingUser.id = ?1 and b.startBooking <= ?2 and b.endBooking > ?2 order by b.startBooking desc")
-    List<Booking> findAllByBookerIdAndCurrentBookings(@Param("bookerId") int bookerId, @Param("time") LocalDateTime time);
-
-    List<Booking> findAllByItemOwnerUserIdOrderByStartBookingDesc(int ownerId);
-
-    @Query("select b from Booking b where b.item.ownerUser.id = ?1 and b.startBooking <= ?2 and b.endBooking > ?2 order by b.startBooking desc")
-    List<Booking> findAllByItemUserIdAndCurrentBookings(@Param("ownerId") int ownerId, @Param("time") LocalDateTime time);
-
-    @Query("select new ru.practicum.shareit.booking.model.BookingDates(b1.item.id, max(b1.endBooking), min(b2.startBooking)) from Booking b1 " +
-            "join Booking b2 on b1.item.id = b2.item.id " +
-            "where b1.item.id = ?1 and (b1.bookingStatus = 'APPROVED' and b1.endBooking <= ?2) and (b2.bookingStatus = 'APPROVED' and b2.startBooking >= ?2) " +
-            "group by b1.item.id")
-    BookingDates findBookingDates(@Param("itemId") int itemId, @Param("time") LocalDateTime time);
-
-    @Query("select new ru.practicum.shareit.booking.model.BookingDates(b1.item.id, max(b1.endBooking), min(b2.startBooking)) from Booking b1 " +
-            "join Booking b2 on b1.item.id = b2.item.id " +
-            "where b1.item.ownerUser.id = ?1 and (b1.bookingStatus = 'APPROVED' and b1.endBooking <= ?2) and (b2.bookingStatus = 'APPROVED' " +
-            "and b2.startBooking >= ?2) group by b1.item.id")
-    List<BookingDates> findAllBookingsDatesOfUser(@Param("userId") int userId, @Param("time") LocalDateTime time);
+    String SUMMARY = "select new ru.practicum.shareit.booking.model.BookingSummary(b.id, b.startBooking, b.endBooking, " +
+            "b.bookingStatus, i.id, i.name, i.description, i.available, u.id, u.name) " +
+            "from Booking b join b.item i join b.bookingUser u";
+
+    // Строк за один сетевой обмен при выгрузке; в PostgreSQL работает только внутри транзакции
+    String EXPORT_FETCH_SIZE = "500";
+
+    String KEYSET_PAGE = " and (b.startBooking < :cursorStart or (b.startBooking = :cursorStart and b.id < :cursorId))" +
+            " order by b.startBooking desc, b.id desc";
+
+    @Query(SUMMARY + " where u.id = :bookerId" + KEYSET_PAGE)
+    Slice<BookingSummary> findBookerBookings(@Param("bookerId") int bookerId, @Param("cursorStart") LocalDateTime cursorStart,
+                                             @Param("cursorId") int cursorId, Pageable pageable);
+
+    @Query(SUMMARY + " where u.id = :bookerId and b.startBooking <= :time and b.endBooking > :time" +
+            KEYSET_PAGE)
+    Slice<BookingSummary> findBookerCurrentBookings(@Param("bookerId") int bookerId, @Param("time") LocalDateTime time,
+                                                    @Param("cursorStart") LocalDateTime cursorStart,
+                                                    @Param("cursorId") int cursorId, Pageable pageable);
+
+    @Query(SUMMARY + " where u.id = :bookerId and b.endBooking < :time" + KEYSET_PAGE)
+    Slice<BookingSummary> findBookerPastBookings(@Param("bookerId") int bookerId, @Param("time") LocalDateTime time,
+                                                 @Param("cursorStart") LocalDateTime cursorStart,
+                                                 @Param("cursorId") int cursorId, Pageable pageable);
+
+    @Query(SUMMARY + " where u.id = :bookerId and b.startBooking > :time" + KEYSET_PAGE)
+    Slice<BookingSummary> findBookerFutureBookings(@Param("bookerId") int bookerId, @Param("time") LocalDateTime time,
+                                                   @Param("cursorStart") LocalDateTime cursorStart,
+                                                   @Param("cursorId") int cursorId, Pageable pageable);
+
+    @Query(SUMMARY + " where u.id = :bookerId and b.bookingStatus = :status" + KEYSET_PAGE)
+    Slice<BookingSummary> findBookerBookingsByStatus(@Param("bookerId") int bookerId, @Param("status") BookingStatus status,
+                                                     @Param("cursorStart") LocalDateTime cursorStart,
+                                                     @Param("cursorId") int cursorId, Pageable pageable);
+
+    @Query(SUMMARY + " where i.ownerUser.id = :ownerId" + KEYSET_PAGE)
+    Slice<BookingSummary> findOwnerBookings(@Param("ownerId") int ownerId, @Param("cursorStart") LocalDateTime cursorStart,
+                                            @Param("cursorId") int cursorId, Pageable pageable);
+
+    @Query(SUMMARY + " where i.ownerUser.id = :ownerId and b.startBooking <= :time and b.endBooking > :time" +
+            KEYSET_PAGE)
+    Slice<BookingSummary> findOwnerCurrentBookings(@Param("ownerId") int ownerId, @Param("time") LocalDateTime time,
+                                                   @Param("cursorStart") LocalDateTime cursorStart,
+                                                   @Param("cursorId") int cursorId, Pageable pageable);
+
+    @Query(SUMMARY + " where i.ownerUser.id = :ownerId and b.endBooking < :time" + KEYSET_PAGE)
+    Slice<BookingSummary> findOwnerPastBookings(@Param("ownerId") int ownerId, @Param("time") LocalDateTime time,
+                                                @Param("cursorStart") LocalDateTime cursorStart,
+                                                @Param("cursorId") int cursorId, Pageable pageable);
+
+    @Query(SUMMARY + " where i.ownerUser.id = :ownerId and b.startBooking > :time" + KEYSET_PAGE)
+    Slice<BookingSummary> findOwnerFutureBookings(@Param("ownerId") int ownerId, @Param("time") LocalDateTime time,
+                                                  @Param("cursorStart") LocalDateTime cursorStart,
+                                                  @Param("cursorId") int cursorId, Pageable pageable);
+
+    @Query(SUMMARY + " where i.ownerUser.id = :ownerId and b.bookingStatus = :status" + KEYSET_PAGE)
+    Slice<BookingSummary> findOwnerBookingsByStatus(@Param("ownerId") int ownerId, @Param("status") BookingStatus status,
+                                                    @Param("cursorStart") LocalDateTime cursorStart,
+                                                    @Param("cursorId") int cursorId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select b from Booking b join fetch b.item i join fetch b.bookingUser where i.ownerUser.id = :ownerId " +
+            "order by b.startBooking desc, b.id desc")
+    Stream<Booking> streamOwnerBookings(@Param("ownerId") int ownerId);
+
+    @EntityGraph(type = EntityGraph.EntityGraphType.FETCH, attributePaths = {"bookingUser", "item"})
+    @Query("select b from Booking b where b.id = :id")
+    Optional<Booking> findWithItemAndBookerById(@Param("id") int id);
+
+    @EntityGraph(type = EntityGraph.EntityGraphType.FETCH, attributePaths = {"bookingUser", "item"})
+    List<Booking> findAllWithItemAndBookerByIdIn(Collection<Integer> ids);
+
+    boolean existsByBookingUserIdAndItemIdAndBookingStatusAndEndBookingIsBefore(int bookerId, int itemId, BookingStatus status, LocalDateTime time);
+
+    @Query("select new ru.practicum.shareit.booking.model.BookingInterval(b.item.id, b.id, b.startBooking, b.endBooking) " +
+            "from Booking b where b.item.id = :itemId and b.bookingStatus = 'APPROVED'")
+    List<BookingInterval> findApprovedIntervalsByItemId(@Param("itemId") int itemId);
+
+    @Query("select new ru.practicum.shareit.booking.model.BookingInterval(b.item.id, b.id, b.startBooking, b.endBooking) " +
+            "from Booking b where b.item.id in :itemIds and b.bookingStatus = 'APPROVED'")
+    List<BookingInterval> findApprovedIntervalsByItemIds(@Param("itemIds") Collection<Integer> itemIds);
+
+    @Query("select new ru.practicum.shareit.booking.model.BookingDates(b.item.id, " +
+            "max(case when b.endBooking <= :time then b.endBooking end), " +
+            "min(case when b.startBooking >= :time then b.startBooking end), " +
+            "min(case when b.startBooking >= :time then b.startBooking when b.endBooking > :time then b.endBooking end)) " +
+            "from Booking b where b.item.id in :itemIds and b.bookingStatus = 'APPROVED' group by b.item.id")
+    List<BookingDates> findBookingDatesByItemIds(@Param("itemIds") Collection<Integer> itemIds,
+                                                 @Param("time") LocalDateTime time);
 }
@@ -1,12 +1,14 @@
 package ru.practicum.shareit.booking;
 
-import ru.practicum.shareit.booking.model.Booking;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.model.BookingSummary;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 public interface BookingStrategy {
 
-    List<Booking> find(int bookerId, LocalDateTime currentTimeForBookingCheck);
+    Slice<BookingSummary> find(int bookerId, LocalDateTime currentTimeForBookingCheck, KeysetCursor cursor, Pageable pageable);
 
 }
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.model.BookingInterval;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Неизменяемый отсортированный по началу список подтверждённых бронирований предмета.
+ * Для каждой позиции хранится максимум дат окончания на префиксе, поэтому проверка
+ * пересечения и поиск занятых периодов выполняются бинарным поиском.
+ */
+class ItemTimeline {
+
+    private final BookingInterval[] intervals;
+    private final LocalDateTime[] maxEnds;
+
+    ItemTimeline(List<BookingInterval> intervals) {
+        this.intervals = intervals.stream()
+                .sorted(Comparator.comparing(BookingInterval::getStart).thenComparingInt(BookingInterval::getBookingId))
+                .toArray(BookingInterval[]::new);
+        this.maxEnds = new LocalDateTime[this.intervals.length];
+        for (int i = 0; i < this.intervals.length; i++) {
+            LocalDateTime end = this.intervals[i].getEnd();
+            maxEnds[i] = i > 0 && maxEnds[i - 1].isAfter(end) ? maxEnds[i - 1] : end;
+        }
+    }
+
+    boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        int last = lastStartingNotAfter(end);
+        return last >= 0 && !maxEnds[last].isBefore(start);
+    }
+
+    List<BookingInterval> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<BookingInterval> result = new ArrayList<>();
+        for (int i = lastStartingNotAfter(to); i >= 0 && !maxEnds[i].isBefore(from); i--) {
+            if (!intervals[i].getEnd().isBefore(from)) {
+                result.add(intervals[i]);
+            }
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    ItemTimeline with(BookingInterval interval) {
+        List<BookingInterval> updated = new ArrayList<>(without(interval.getBookingId()).asList());
+        updated.add(interval);
+        return new ItemTimeline(updated);
+    }
+
+    ItemTimeline without(int bookingId) {
+        List<BookingInterval> updated = new ArrayList<>(asList());
+        if (!updated.removeIf(interval -> interval.getBookingId() == bookingId)) {
+            return this;
+        }
+        return new ItemTimeline(updated);
+    }
+
+    private List<BookingInterval> asList() {
+        return List.of(intervals);
+    }
+
+    private int lastStartingNotAfter(LocalDateTime time) {
+        int low = 0;
+        int high = intervals.length - 1;
+        int result = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (intervals[middle].getStart().isAfter(time)) {
+                high = middle - 1;
+            } else {
+                result = middle;
+                low = middle + 1;
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BookingBatchResultDto {
+
+    private int index;
+    private int status;
+    private BookingDto booking;
+    private String error;
+}
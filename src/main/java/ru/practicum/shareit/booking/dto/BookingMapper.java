@@ -1,8 +1,14 @@
 package ru.practicum.shareit.booking.dto;
 
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingSummary;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserShortDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.Optional;
@@ -23,11 +29,33 @@ public class BookingMapper {
 
     public static BookingDto mapBookingToBookingDto(Booking booking) {
 
+        Item item = booking.getItem();
+        User booker = booking.getBookingUser();
         return new BookingDto(booking.getId(), booking.getStartBooking(), booking.getEndBooking(),
-                booking.getItem(), booking.getBookingUser(), booking.getBookingStatus()
+                new ItemShortDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable()),
+                new UserShortDto(booker.getId(), booker.getName()), booking.getBookingStatus()
         );
     }
 
+    public static BookingDto mapBookingSummaryToBookingDto(BookingSummary booking) {
+
+        return new BookingDto(booking.getId(), booking.getStart(), booking.getEnd(),
+                new ItemShortDto(booking.getItemId(), booking.getItemName(), booking.getItemDescription(),
+                        booking.getItemAvailable()),
+                new UserShortDto(booking.getBookerId(), booking.getBookerName()), booking.getStatus()
+        );
+    }
+
+    public static BookingBatchResultDto mapToBatchResult(int index, BookingDto booking) {
+        return new BookingBatchResultDto(index, HttpStatus.OK.value(), booking, null);
+    }
+
+    public static BookingBatchResultDto mapToBatchResult(int index, RuntimeException exception) {
+        ResponseStatus responseStatus = AnnotatedElementUtils.findMergedAnnotation(exception.getClass(), ResponseStatus.class);
+        HttpStatus status = responseStatus != null ? responseStatus.code() : HttpStatus.BAD_REQUEST;
+        return new BookingBatchResultDto(index, status.value(), null, exception.getMessage());
+    }
+
     public static List<BookingDto> mapBookingsToBookingDtos(List<Booking> bookings) {
         return bookings.stream()
                 .map(BookingMapper::mapBookingToBookingDto)
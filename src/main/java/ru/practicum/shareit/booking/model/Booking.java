@@ -17,19 +17,21 @@ import java.time.LocalDateTime;
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private int id;
     @Column(name = "start_date")
     private LocalDateTime startBooking;
     @Column(name = "end_date")
     private LocalDateTime endBooking;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
     private User bookingUser;
     @Enumerated(EnumType.STRING)
+    @Column(name = "status")
     private BookingStatus bookingStatus;
 
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class BookingInterval {
+
+    private int itemId;
+    private int bookingId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class BookingSummary {
+
+    private int id;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private BookingStatus status;
+    private int itemId;
+    private String itemName;
+    private String itemDescription;
+    private Boolean itemAvailable;
+    private int bookerId;
+    private String bookerName;
+}
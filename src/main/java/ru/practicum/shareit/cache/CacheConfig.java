@@ -0,0 +1,44 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.CaffeineCacheMeterBinderProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+    public static final String ITEMS_BY_OWNER_REGION = "query.items-by-owner";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${shareit.cache.users.spec}") String usersSpec,
+                                     @Value("${shareit.cache.items.spec}") String itemsSpec) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                new SnapshotCache(new CaffeineCache(USERS, Caffeine.from(usersSpec).build(), false),
+                        user -> EntitySnapshots.ofUser((User) user)),
+                new SnapshotCache(new CaffeineCache(ITEMS, Caffeine.from(itemsSpec).build(), false),
+                        item -> EntitySnapshots.ofItem((Item) item))));
+        return cacheManager;
+    }
+
+    @Bean
+    public CacheMeterBinderProvider<SnapshotCache> snapshotCacheMeterBinderProvider() {
+        CaffeineCacheMeterBinderProvider caffeine = new CaffeineCacheMeterBinderProvider();
+        return (cache, tags) -> caffeine.getMeterBinder(cache.getTarget(), tags);
+    }
+
+}
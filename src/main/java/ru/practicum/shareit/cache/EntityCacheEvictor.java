@@ -0,0 +1,64 @@
+package ru.practicum.shareit.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.outbox.CacheInvalidationOutbox;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.outbox.CacheInvalidationType;
+import ru.practicum.shareit.transaction.TransactionHooks;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Сбрасывает закэшированных пользователей и вещи. Кэши транзакционные,
+ * поэтому сброс выполняется только после фиксации транзакции.
+ * Изменение записывается и в outbox, чтобы те же записи сбросили остальные узлы.
+ */
+@Component
+public class EntityCacheEvictor {
+
+    private final Cache users;
+    private final Cache items;
+    private final org.hibernate.Cache secondLevelCache;
+    private final CacheInvalidationOutbox cacheInvalidationOutbox;
+
+    public EntityCacheEvictor(CacheManager cacheManager, EntityManagerFactory entityManagerFactory,
+                              CacheInvalidationOutbox cacheInvalidationOutbox) {
+        this.users = Objects.requireNonNull(cacheManager.getCache(CacheConfig.USERS));
+        this.items = Objects.requireNonNull(cacheManager.getCache(CacheConfig.ITEMS));
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.cacheInvalidationOutbox = cacheInvalidationOutbox;
+    }
+
+    public void evictUser(int userId) {
+        users.evict(userId);
+        cacheInvalidationOutbox.record(CacheInvalidationType.USER, List.of(userId));
+    }
+
+    public void evictItem(int itemId) {
+        items.evict(itemId);
+        cacheInvalidationOutbox.record(CacheInvalidationType.ITEM, List.of(itemId));
+    }
+
+    public void evictItems(Collection<Integer> itemIds) {
+        itemIds.forEach(items::evict);
+        cacheInvalidationOutbox.record(CacheInvalidationType.ITEM, itemIds);
+    }
+
+    /**
+     * Вещи, удалённые каскадом в базе (ON DELETE CASCADE), Hibernate не видит и сам из второго уровня не убирает.
+     */
+    public void evictDeletedItems(Collection<Integer> itemIds) {
+        evictItems(itemIds);
+        TransactionHooks.afterCommit(() -> {
+            itemIds.forEach(itemId -> secondLevelCache.evictEntityData(Item.class, itemId));
+            secondLevelCache.evictQueryRegion(CacheConfig.ITEMS_BY_OWNER_REGION);
+        });
+    }
+
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.cache;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+/**
+ * Копии сущностей для кэша. Закэшированный объект не связан ни с одной сессией Hibernate
+ * и не попадает к вызывающему коду, поэтому его нельзя изменить из другого потока.
+ */
+public class EntitySnapshots {
+
+    private EntitySnapshots() {
+    }
+
+    public static User ofUser(User user) {
+        User copy = new User(user.getId(), user.getEmail(), user.getName());
+        copy.setVersion(user.getVersion());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        return copy;
+    }
+
+    /**
+     * Владелец загружается вместе с вещью и копируется целиком, от запроса остаётся только id:
+     * он загружается лениво и вне транзакции читателя всё равно недоступен.
+     */
+    public static Item ofItem(Item item) {
+        Item copy = new Item(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getOwnerUser() == null ? null : ofUser(item.getOwnerUser()),
+                requestRefOf(item.getItemRequest()));
+        copy.setLastBookingEnd(item.getLastBookingEnd());
+        copy.setNextBookingStart(item.getNextBookingStart());
+        copy.setBookingDatesRefreshAt(item.getBookingDatesRefreshAt());
+        copy.setLastCommentId(item.getLastCommentId());
+        copy.setVersion(item.getVersion());
+        copy.setUpdatedAt(item.getUpdatedAt());
+        return copy;
+    }
+
+    private static ItemRequest requestRefOf(ItemRequest itemRequest) {
+        if (itemRequest == null) {
+            return null;
+        }
+        ItemRequest reference = new ItemRequest();
+        reference.setId(itemRequest.getId());
+        return reference;
+    }
+
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+/**
+ * Валидаторы ресурса для условного GET: сильный ETag из частей состояния, от которых зависит ответ,
+ * и время последнего изменения для {@code Last-Modified}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ResourceVersion {
+
+    private final String eTag;
+    private final long lastModified;
+
+    public static ResourceVersion of(LocalDateTime updatedAt, Object... state) {
+        String digest = DigestUtils.md5DigestAsHex(Arrays.toString(state).getBytes(StandardCharsets.UTF_8));
+        long lastModified = updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new ResourceVersion("\"" + digest + "\"", lastModified);
+    }
+
+}
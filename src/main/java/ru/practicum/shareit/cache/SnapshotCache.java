@@ -0,0 +1,145 @@
+package ru.practicum.shareit.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import ru.practicum.shareit.transaction.TransactionHooks;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.UnaryOperator;
+
+/**
+ * Транзакционный кэш копий сущностей поверх Caffeine.
+ * Запись и сброс, как и в {@link org.springframework.cache.transaction.TransactionAwareCacheDecorator},
+ * выполняются только после фиксации транзакции. Поэтому читатель, загрузивший старую версию,
+ * может записать её уже после сброса, сделанного писателем. Чтобы этого не случилось, при промахе
+ * запоминается поколение ключа, а отложенная запись выполняется, только если ключ с тех пор не сбрасывался.
+ * В кэше хранится копия значения, и каждый читатель получает свою копию.
+ */
+public class SnapshotCache implements Cache {
+
+    // поколения хранятся по полосам: совпадение полос лишь изредка отбрасывает запись, но память не растёт
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final CaffeineCache target;
+    private final UnaryOperator<Object> snapshot;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong epoch = new AtomicLong();
+    // @Cacheable после промаха загружает значение и вызывает put в том же потоке
+    private final ThreadLocal<PendingLoad> pendingLoad = new ThreadLocal<>();
+
+    public SnapshotCache(CaffeineCache target, UnaryOperator<Object> snapshot) {
+        this.target = target;
+        this.snapshot = snapshot;
+    }
+
+    public CaffeineCache getTarget() {
+        return target;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper cached = target.get(key);
+        if (cached == null) {
+            pendingLoad.set(new PendingLoad(key, generationOf(key)));
+            return null;
+        }
+        return new SimpleValueWrapper(snapshot.apply(cached.get()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper cached = get(key);
+        if (cached == null) {
+            return null;
+        }
+        Object value = cached.get();
+        if (type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Objects.requireNonNull(value, "Cache '" + getName() + "' does not allow null values");
+        PendingLoad load = pendingLoad.get();
+        pendingLoad.remove();
+        long generation = load != null && load.key().equals(key) ? load.generation() : generationOf(key);
+        Object copy = snapshot.apply(value);
+        TransactionHooks.afterCommit(() -> target.getNativeCache().asMap().compute(key,
+                (k, current) -> generationOf(key) == generation ? copy : current));
+    }
+
+    @Override
+    public void evict(Object key) {
+        TransactionHooks.afterCommit(() -> evictIfPresent(key));
+    }
+
+    /**
+     * Сбрасывает ключ сразу, без ожидания фиксации, как того требует контракт {@link Cache#evictIfPresent}.
+     */
+    @Override
+    public boolean evictIfPresent(Object key) {
+        // поколение меняется до удаления: запись, загруженная раньше, уже не попадёт в кэш
+        generations.incrementAndGet(stripeOf(key));
+        return target.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        TransactionHooks.afterCommit(() -> {
+            epoch.incrementAndGet();
+            target.clear();
+        });
+    }
+
+    @Override
+    public boolean invalidate() {
+        epoch.incrementAndGet();
+        return target.invalidate();
+    }
+
+    private long generationOf(Object key) {
+        return epoch.get() + generations.get(stripeOf(key));
+    }
+
+    private static int stripeOf(Object key) {
+        return Math.floorMod(key.hashCode(), GENERATION_STRIPES);
+    }
+
+    private record PendingLoad(Object key, long generation) {
+    }
+
+}
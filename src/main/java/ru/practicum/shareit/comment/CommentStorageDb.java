@@ -1,14 +1,26 @@
 package ru.practicum.shareit.comment;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentStorageDb extends JpaRepository<Comment, Integer> {
 
-    List<Comment> findAllByItemId(Integer itemId);
+    String COMMENT_DTO = "select new ru.practicum.shareit.comment.dto.CommentDto(c.id, c.commentText, c.item.id, a.name, " +
+            "c.creationTime) from Comment c join c.commentAuthor a";
 
-    List<Comment> findAllByItemIdIn(List<Integer> itemsId);
+    @Query(COMMENT_DTO + " where c.item.id = :itemId")
+    List<CommentDto> findDtosByItemId(@Param("itemId") int itemId);
+
+    @Query(COMMENT_DTO + " where c.item.id in :itemIds")
+    List<CommentDto> findDtosByItemIdIn(@Param("itemIds") Collection<Integer> itemIds);
+
+    @Query("select distinct c.item.id from Comment c where c.commentAuthor.id = :authorId")
+    List<Integer> findItemIdsByAuthorId(@Param("authorId") int authorId);
 
 }
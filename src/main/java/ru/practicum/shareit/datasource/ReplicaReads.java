@@ -0,0 +1,25 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Признак того, что текущая транзакция читает из реплики. Реплика может отставать, поэтому прочитанное из неё
+ * не должно попадать в общие кэши: иначе после сброса кэш снова наполнится старой строкой, а пишущие пути
+ * возьмут её из кэша. Без настроенной реплики read-only транзакции читают основную базу и кэшируются как обычно.
+ */
+@Component
+public class ReplicaReads {
+
+    private final boolean replicaConfigured;
+
+    public ReplicaReads(Environment environment) {
+        this.replicaConfigured = environment.containsProperty("shareit.datasource.replica.url");
+    }
+
+    public boolean isActive() {
+        return replicaConfigured && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.diagnostics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Счётчики SQL-запросов, выполненных в рамках одного HTTP-запроса. Привязаны к потоку, который обрабатывает запрос.
+ */
+public class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private int statements;
+    private long jdbcNanos;
+    private long executionStart;
+
+    static RequestSqlStats start() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static Optional<RequestSqlStats> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    static void finish() {
+        CURRENT.remove();
+    }
+
+    void beforeExecution() {
+        executionStart = System.nanoTime();
+    }
+
+    void afterExecution(String sql) {
+        statements++;
+        jdbcNanos += System.nanoTime() - executionStart;
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcTime(TimeUnit unit) {
+        return unit.convert(jdbcNanos, TimeUnit.NANOSECONDS);
+    }
+
+    Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new HashMap<>();
+        executionsBySql.forEach((sql, executions) -> {
+            if (executions >= threshold) {
+                repeated.put(sql, executions);
+            }
+        });
+        return repeated;
+    }
+
+}
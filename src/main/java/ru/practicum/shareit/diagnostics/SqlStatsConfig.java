@@ -0,0 +1,55 @@
+package ru.practicum.shareit.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Подсчёт SQL-запросов на каждый HTTP-запрос. Основной {@code dataSource} оборачивается в datasource-proxy,
+ * текст запросов пишется в лог {@code shareit.sql} на уровне DEBUG вместо {@code spring.jpa.show-sql}.
+ * Заголовки с числом запросов включаются свойством {@code shareit.diagnostics.sql.headers} (профиль {@code sql-debug}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.diagnostics.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)
+                        && DATA_SOURCE_BEAN.equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlStatsListener())
+                            .logQueryBySlf4j(SLF4JLogLevel.DEBUG, "shareit.sql")
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter(MeterRegistry meterRegistry,
+                                                                 @Value("${shareit.diagnostics.sql.repeated-statement-threshold:0}") int repeatedStatementThreshold) {
+        FilterRegistrationBean<SqlStatsFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatsFilter(meterRegistry, repeatedStatementThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+}
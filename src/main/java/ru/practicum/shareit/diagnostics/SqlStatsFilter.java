@@ -0,0 +1,68 @@
+package ru.practicum.shareit.diagnostics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Открывает счётчики SQL на время HTTP-запроса и по его завершении публикует число запросов и время JDBC
+ * в метриках {@code shareit.http.sql.statements} и {@code shareit.http.sql.time} с тегами метода и шаблона URI.
+ * При заданном пороге предупреждает об одинаковых запросах, повторённых в одном HTTP-запросе (признак N+1).
+ */
+@Slf4j
+class SqlStatsFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_METER = "shareit.http.sql.statements";
+    static final String TIME_METER = "shareit.http.sql.time";
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatedStatementThreshold;
+
+    SqlStatsFilter(MeterRegistry meterRegistry, int repeatedStatementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestSqlStats.finish();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestSqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder(STATEMENTS_METER)
+                .description("Число SQL-запросов на один HTTP-запрос")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder(TIME_METER)
+                .description("Суммарное время JDBC на один HTTP-запрос")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(stats.getJdbcTime(TimeUnit.NANOSECONDS)));
+        if (repeatedStatementThreshold > 0) {
+            stats.repeatedStatements(repeatedStatementThreshold).forEach((sql, executions) ->
+                    log.warn("Возможен N+1: запрос выполнен {} раз за {} {}: {}", executions, request.getMethod(), uri, sql));
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.diagnostics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Учитывает каждое обращение к JDBC (запрос или пакет) в счётчиках текущего HTTP-запроса.
+ */
+class SqlStatsListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestSqlStats.current().ifPresent(RequestSqlStats::beforeExecution);
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestSqlStats.current().ifPresent(stats -> stats.afterExecution(queryInfoList.isEmpty()
+                ? "" : queryInfoList.get(0).getQuery()));
+    }
+
+}
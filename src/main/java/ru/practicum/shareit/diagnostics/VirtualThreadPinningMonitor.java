@@ -0,0 +1,104 @@
+package ru.practicum.shareit.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Диагностика закрепления виртуальных потоков за несущими (профиль {@code pinning}).
+ * Слушает событие JFR {@code jdk.VirtualThreadPinned}, которое JVM генерирует, когда виртуальный поток
+ * блокируется внутри {@code synchronized} или нативного кода дольше порога, и относит его к первому кадру
+ * драйвера JDBC, пула соединений, Hibernate или приложения.
+ */
+@Component
+@Profile("pinning")
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String PINNED_METER = "shareit.virtual-threads.pinned";
+
+    private static final List<String> WATCHED_PACKAGES = List.of(
+            "org.postgresql.", "org.h2.", "com.zaxxer.hikari.", "org.hibernate.", "ru.practicum.shareit.");
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final int stackDepth;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${shareit.diagnostics.pinning.threshold:20ms}") Duration threshold,
+                                       @Value("${shareit.diagnostics.pinning.stack-depth:12}") int stackDepth) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+        this.stackDepth = stackDepth;
+    }
+
+    @Override
+    public synchronized void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.info("Отслеживание закрепления виртуальных потоков включено, порог {} мс", threshold.toMillis());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        String source = pinningSource(frames);
+        Timer.builder(PINNED_METER)
+                .description("Время, на которое виртуальный поток был закреплён за несущим")
+                .tag("source", source)
+                .register(meterRegistry)
+                .record(event.getDuration());
+        log.warn("Виртуальный поток закреплён на {} мс в {}", event.getDuration().toMillis(), source);
+        if (log.isDebugEnabled()) {
+            log.debug("Стек закреплённого потока:\n\tat {}", frames.stream()
+                    .limit(stackDepth)
+                    .map(VirtualThreadPinningMonitor::describe)
+                    .collect(Collectors.joining("\n\tat ")));
+        }
+    }
+
+    static String pinningSource(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(frame -> WATCHED_PACKAGES.stream()
+                        .anyMatch(frame.getMethod().getType().getName()::startsWith))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .orElse("unknown");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+}
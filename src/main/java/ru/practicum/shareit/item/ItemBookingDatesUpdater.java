@@ -0,0 +1,80 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingStorageDb;
+import ru.practicum.shareit.booking.model.BookingDates;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Поддерживает в актуальном состоянии даты последнего и следующего бронирования, хранимые в самой вещи.
+ * Пересчёт выполняется при смене статуса бронирования и по расписанию, когда наступает момент
+ * {@code bookingDatesRefreshAt} - начало следующего или окончание текущего бронирования.
+ */
+@Component
+@Slf4j
+public class ItemBookingDatesUpdater {
+
+    private final ItemStorageDb itemStorageDb;
+    private final BookingStorageDb bookingStorageDb;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final int rolloverBatchSize;
+
+    public ItemBookingDatesUpdater(ItemStorageDb itemStorageDb, BookingStorageDb bookingStorageDb,
+                                   EntityCacheEvictor entityCacheEvictor,
+                                   @Value("${shareit.items.booking-dates.rollover-batch-size:500}") int rolloverBatchSize) {
+        this.itemStorageDb = itemStorageDb;
+        this.bookingStorageDb = bookingStorageDb;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.rolloverBatchSize = rolloverBatchSize;
+    }
+
+    @Transactional
+    public void refresh(Collection<Integer> itemIds) {
+        refresh(itemStorageDb.lockAllByIdIn(itemIds), LocalDateTime.now());
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${shareit.items.booking-dates.rollover-delay:PT1M}")
+    public void rollover() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Item> items = itemStorageDb.lockBookingDatesToRefresh(now, PageRequest.of(0, rolloverBatchSize));
+        if (!items.isEmpty()) {
+            refresh(items, now);
+            log.debug("Обновлены даты бронирований у {} вещей", items.size());
+        }
+    }
+
+    private void refresh(List<Item> items, LocalDateTime now) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Map<Integer, BookingDates> datesByItemId = bookingStorageDb.findBookingDatesByItemIds(items.stream()
+                        .map(Item::getId)
+                        .toList(), now)
+                .stream()
+                .collect(Collectors.toMap(BookingDates::getItemId, Function.identity()));
+        for (Item item : items) {
+            BookingDates dates = datesByItemId.get(item.getId());
+            item.setLastBookingEnd(dates == null ? null : dates.getPreviousBooking());
+            item.setNextBookingStart(dates == null ? null : dates.getNextBooking());
+            item.setBookingDatesRefreshAt(dates == null ? null : dates.getRefreshAt());
+        }
+        entityCacheEvictor.evictItems(items.stream()
+                .map(Item::getId)
+                .toList());
+    }
+
+}
@@ -1,14 +1,22 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.cache.ResourceVersion;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CreateCommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.UpdateItem;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -18,6 +26,8 @@ public class ItemController {
 
     private final ItemService itemService;
     private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final int MAX_PAGE_SIZE = 100;
 
     public ItemController(ItemService itemService) {
         this.itemService = itemService;
@@ -36,18 +46,31 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ItemDateDto getItemById(@PathVariable(name = "itemId") int itemId) {
+    public ItemDateDto getItemById(@PathVariable(name = "itemId") int itemId, WebRequest webRequest) {
+        ResourceVersion version = itemService.getItemVersion(itemId);
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
         return itemService.getItemById(itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getItemAvailability(@PathVariable(name = "itemId") int itemId,
+                                                   @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                   @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getItemAvailability(itemId, from, to);
+    }
+
     @GetMapping
     public List<ItemDateDto> getAllUsersItems(@RequestHeader(REQUEST_HEADER) int userId) {
         return itemService.getAllUsersItems(userId);
     }
 
     @GetMapping("/search")
-    public List<ItemDto> getItemsByQuery(@RequestParam(name = "text", required = false) String query) {
-        return itemService.getItemsByQuery(query);
+    public List<ItemDto> getItemsByQuery(@RequestParam(name = "text", required = false) String query,
+                                         @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
+                                         @RequestParam(name = "size", defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size) {
+        return itemService.getItemsByQuery(query, from, size);
     }
 
     @DeleteMapping("/{itemId}")
@@ -4,10 +4,11 @@ import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingAvailabilityCache;
 import ru.practicum.shareit.booking.BookingStorageDb;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.BookingDates;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
+import ru.practicum.shareit.cache.ResourceVersion;
 import ru.practicum.shareit.comment.CommentStorageDb;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CommentMapper;
@@ -15,11 +16,15 @@ import ru.practicum.shareit.comment.dto.CreateCommentDto;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.PermissionException;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.UpdateItem;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.metrics.ShareItMetrics;
+import ru.practicum.shareit.request.ItemRequestStorageDb;
 import ru.practicum.shareit.user.UserStorageDb;
 import ru.practicum.shareit.user.model.User;
 
@@ -36,58 +41,101 @@ public class ItemService {
     private final UserStorageDb userStorageDb;
     private final BookingStorageDb bookingStorageDb;
     private final CommentStorageDb commentStorageDb;
+    private final ItemSearchEngine itemSearchEngine;
+    private final BookingAvailabilityCache availabilityCache;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final ShareItMetrics shareItMetrics;
+    private final ItemRequestStorageDb itemRequestStorageDb;
 
     public ItemService(ItemStorageDb itemStorageDb, UserStorageDb userStorageDb,
-                       BookingStorageDb bookingStorageDb, CommentStorageDb commentStorageDb) {
+                       BookingStorageDb bookingStorageDb, CommentStorageDb commentStorageDb,
+                       ItemSearchEngine itemSearchEngine, BookingAvailabilityCache availabilityCache,
+                       EntityCacheEvictor entityCacheEvictor, ShareItMetrics shareItMetrics,
+                       ItemRequestStorageDb itemRequestStorageDb) {
         this.itemStorageDb = itemStorageDb;
         this.userStorageDb = userStorageDb;
         this.bookingStorageDb = bookingStorageDb;
         this.commentStorageDb = commentStorageDb;
+        this.itemSearchEngine = itemSearchEngine;
+        this.availabilityCache = availabilityCache;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.shareItMetrics = shareItMetrics;
+        this.itemRequestStorageDb = itemRequestStorageDb;
     }
 
     @Transactional
     public ItemDto create(int id, ItemDto itemDto) {
-        User user = userStorageDb.findById(id).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+        User user = userStorageDb.findCachedById(id).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
         Item item = ItemMapper.mapToItem(itemDto, user);
-        return ItemMapper.mapToDto(itemStorageDb.save(item));
+        if (itemDto.getRequestId() != null) {
+            item.setItemRequest(itemRequestStorageDb.findById(itemDto.getRequestId())
+                    .orElseThrow(() -> new NotFoundException("Запрос не найден")));
+        }
+        item = itemStorageDb.save(item);
+        itemSearchEngine.index(item);
+        // новая вещь попадает в индекс поиска и списки владельца на остальных узлах через outbox
+        entityCacheEvictor.evictItem(item.getId());
+        return ItemMapper.mapToDto(item);
     }
 
     @Transactional
     public ItemDto update(int userId, int itemId, UpdateItem updateItem) {
-        Item item = itemStorageDb.findById(itemId).orElseThrow(() -> new NotFoundException("Предмет не найден"));
+        // блокировка читает актуальную версию и не даёт обновлению столкнуться с пересчётом дат бронирований
+        Item item = itemStorageDb.lockById(itemId).orElseThrow(() -> new NotFoundException("Предмет не найден"));
 
         if (item.getOwnerUser() == null || (item.getOwnerUser().getId() != userId)) {
             throw new PermissionException("Не достаточно прав для обновления объекта или пользователь не был найден");
         }
 
         updateUsersFields(updateItem, item);
-        return ItemMapper.mapToDto(itemStorageDb.save(item));
+        Item updatedItem = itemStorageDb.save(item);
+        itemSearchEngine.index(updatedItem);
+        entityCacheEvictor.evictItem(itemId);
+        return ItemMapper.mapToDto(updatedItem);
 
     }
 
+    @Transactional(readOnly = true)
+    public ResourceVersion getItemVersion(int id) {
+        Item item = itemStorageDb.findById(id).orElseThrow(() -> new NotFoundException("Предмет не найден"));
+        return ResourceVersion.of(item.getUpdatedAt(), item.getId(), item.getVersion(), item.getLastCommentId(),
+                item.getLastBookingEnd(), item.getNextBookingStart());
+    }
+
+    @Transactional(readOnly = true)
     public ItemDateDto getItemById(int id) {
         Item item = itemStorageDb.findById(id).orElseThrow(() -> new NotFoundException("Предмет не найден"));
-        BookingDates bookingDates = bookingStorageDb.findBookingDates(id, LocalDateTime.now());
-        List<Comment> comments = commentStorageDb.findAllByItemId(id);
-        return ItemMapper.mapToItemDateDto(item, bookingDates, CommentMapper.mapToCommentDtos(comments));
+        return ItemMapper.mapToItemDateDto(item, commentStorageDb.findDtosByItemId(id));
     }
 
+    @Transactional(readOnly = true)
     public List<ItemDateDto> getAllUsersItems(int id) {
         List<Item> items = itemStorageDb.findAllByOwnerUserId(id);
-        List<BookingDates> bookingDates = bookingStorageDb.findAllBookingsDatesOfUser(id, LocalDateTime.now());
-        List<Comment> comments = commentStorageDb.findAllByItemIdIn(items
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<CommentDto> commentDtos = commentStorageDb.findDtosByItemIdIn(items
                 .stream()
                 .map(Item::getId)
                 .toList());
-        List<CommentDto> commentDtos = CommentMapper.mapToCommentDtos(comments);
-        return ItemMapper.mapToItemDateDto(items, bookingDates, commentDtos);
+        return ItemMapper.mapToItemDateDto(items, commentDtos);
     }
 
-    public List<ItemDto> getItemsByQuery(String query) {
-        if (query.isBlank()) {
+    @Transactional(readOnly = true)
+    public ItemAvailabilityDto getItemAvailability(int itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало периода должно быть раньше его конца");
+        }
+        Item item = itemStorageDb.findById(itemId).orElseThrow(() -> new NotFoundException("Предмет не найден"));
+        return ItemMapper.mapToItemAvailabilityDto(item, from, to, availabilityCache.findBusyIntervals(itemId, from, to));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ItemDto> getItemsByQuery(String query, int from, int size) {
+        if (query == null || query.isBlank()) {
             return new ArrayList<ItemDto>();
         }
-        List<Item> items = itemStorageDb.findByQueryText(query);
+        List<Item> items = shareItMetrics.recordSearch(() -> itemSearchEngine.search(query, from, size), List::size);
         return ItemMapper.mapToDtos(items);
     }
 
@@ -98,20 +146,28 @@ public class ItemService {
             throw new PermissionException("Не достаточно прав для удаления объекта");
         }
         itemStorageDb.deleteById(itemId);
+        itemSearchEngine.remove(itemId);
+        entityCacheEvictor.evictItem(itemId);
         return ItemMapper.mapToDto(item);
     }
 
     @Transactional
     public CommentDto addComment(int userId, int itemId, CreateCommentDto createCommentDto) {
-        User user = userStorageDb.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
-        Item item = itemStorageDb.findById(itemId).orElseThrow(() -> new NotFoundException("Предмет не найден"));
-        List<Booking> bookings = bookingStorageDb.findAllByBookingUserIdAndItemIdAndBookingStatusAndEndBookingIsBefore(userId, itemId,
-                BookingStatus.APPROVED, LocalDateTime.now());
-        if (bookings.isEmpty()) {
+        return shareItMetrics.recordCommentCreation(() -> createComment(userId, itemId, createCommentDto));
+    }
+
+    private CommentDto createComment(int userId, int itemId, CreateCommentDto createCommentDto) {
+        User user = userStorageDb.findCachedById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+        if (!bookingStorageDb.existsByBookingUserIdAndItemIdAndBookingStatusAndEndBookingIsBefore(userId, itemId,
+                BookingStatus.APPROVED, LocalDateTime.now())) {
             throw new ValidationException("Пользователь не бронировал данный предмет");
         }
-        Comment comment = CommentMapper.mapToComment(createCommentDto, user, item);
-        return CommentMapper.mapToCommentDto(commentStorageDb.save(comment));
+        // последний отзыв входит в ETag вещи, поэтому вещь обновляется вместе с отзывом
+        Item item = itemStorageDb.lockById(itemId).orElseThrow(() -> new NotFoundException("Предмет не найден"));
+        Comment comment = commentStorageDb.save(CommentMapper.mapToComment(createCommentDto, user, item));
+        item.setLastCommentId(comment.getId());
+        entityCacheEvictor.evictItem(itemId);
+        return CommentMapper.mapToCommentDto(comment);
     }
 
     private void updateUsersFields(UpdateItem updateItem, Item item) {
@@ -1,17 +1,71 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.cache.CacheConfig;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemStorageDb extends JpaRepository<Item, Integer> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.ITEMS_BY_OWNER_REGION)
+    })
     List<Item> findAllByOwnerUserId(int userId);
 
-    @Query("select i from Item i where (lower(i.name) like lower(?1) " +
-            "or lower(i.description) like lower(?1)) and i.available = true")
-    List<Item> findByQueryText(String text);
+    @Query("select i.id from Item i where i.ownerUser.id = :userId")
+    List<Integer> findIdsByOwnerUserId(@Param("userId") int userId);
+
+    @Cacheable(cacheNames = CacheConfig.ITEMS, key = "#id", unless = "#result == null || @replicaReads.isActive()")
+    @Query("select i from Item i join fetch i.ownerUser where i.id = :id")
+    Optional<Item> findCachedById(@Param("id") int id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = :id")
+    Optional<Item> lockById(@Param("id") int id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id in :ids order by i.id")
+    List<Item> lockAllByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // -2 означает SKIP LOCKED: вещи, которые сейчас пересчитывает смена статуса или другой узел, не ждём
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select i from Item i where i.bookingDatesRefreshAt <= :time order by i.id")
+    List<Item> lockBookingDatesToRefresh(@Param("time") LocalDateTime time, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"ownerUser"})
+    List<Item> findAllByAvailableTrue();
+
+    @Query(value = "select i.* from items i where i.available = true " +
+            "and (i.name ilike :pattern or i.description ilike :pattern) " +
+            "order by greatest(similarity(i.name, :text), similarity(i.description, :text)) desc, i.id " +
+            "limit :size offset :from", nativeQuery = true)
+    List<Item> searchRankedByTrigrams(@Param("text") String text, @Param("pattern") String pattern,
+                                      @Param("from") int from, @Param("size") int size);
+
+    @Query("select i from Item i join fetch i.ownerUser where i.available = true " +
+            "and (lower(i.name) like :pattern escape '\\' or lower(i.description) like :pattern escape '\\') " +
+            "order by case when lower(i.name) like :pattern escape '\\' then 0 else 1 end, i.id")
+    List<Item> searchRankedByPattern(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.request.dto.ItemAnswerDto(i.id, i.name, i.ownerUser.id, i.itemRequest.id) " +
+            "from Item i where i.itemRequest.id in :requestIds order by i.id")
+    List<ItemAnswerDto> findAnswersByRequestIdIn(@Param("requestIds") Collection<Integer> requestIds);
 
 }
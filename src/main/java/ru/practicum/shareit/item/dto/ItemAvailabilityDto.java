@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ItemAvailabilityDto {
+
+    private int itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private boolean available;
+    private List<BusyPeriodDto> busy;
+}
@@ -26,4 +26,5 @@ public class ItemDto {
     @Pattern(regexp = "^true?$|^false?$")
     private String available;
     private User ownerUser;
+    private Integer requestId;
 }
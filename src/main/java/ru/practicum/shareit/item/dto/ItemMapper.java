@@ -1,6 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
-import ru.practicum.shareit.booking.model.BookingDates;
+import ru.practicum.shareit.booking.model.BookingInterval;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -10,14 +10,15 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class ItemMapper {
 
     public static ItemDto mapToDto(Item item) {
+        User owner = item.getOwnerUser();
         return new ItemDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable().toString(),
-                item.getOwnerUser());
+                owner == null ? null : new User(owner.getId(), owner.getEmail(), owner.getName()),
+                item.getItemRequest() == null ? null : item.getItemRequest().getId());
     }
 
     public static List<ItemDto> mapToDtos(List<Item> items) {
@@ -38,14 +39,7 @@ public class ItemMapper {
 
     }
 
-    public static ItemDateDto mapToItemDateDto(Item item, BookingDates dates) {
-
-        LocalDateTime previousBooking = Optional.ofNullable(dates)
-                .map(BookingDates::getPreviousBooking)
-                .orElse(null);
-        LocalDateTime nextBooking = Optional.ofNullable(dates)
-                .map(BookingDates::getNextBooking)
-                .orElse(null);
+    public static ItemDateDto mapToItemDateDto(Item item) {
 
         ItemDateDto itemDateDto = new ItemDateDto();
         itemDateDto.setId(item.getId());
@@ -53,42 +47,35 @@ public class ItemMapper {
         itemDateDto.setDescription(item.getDescription());
         itemDateDto.setAvailable(item.getAvailable());
         itemDateDto.setUserId(item.getOwnerUser().getId());
-        itemDateDto.setLastBooking(previousBooking);
-        itemDateDto.setNextBooking(nextBooking);
+        itemDateDto.setLastBooking(item.getLastBookingEnd());
+        itemDateDto.setNextBooking(item.getNextBookingStart());
         return itemDateDto;
 
     }
 
-    public static ItemDateDto mapToItemDateDto(Item item, BookingDates dates, List<CommentDto> commentDtos) {
+    public static ItemDateDto mapToItemDateDto(Item item, List<CommentDto> commentDtos) {
 
-        ItemDateDto itemDateDto = mapToItemDateDto(item, dates);
+        ItemDateDto itemDateDto = mapToItemDateDto(item);
         itemDateDto.setComments(Optional.ofNullable(commentDtos).orElseGet(ArrayList::new));
 
         return itemDateDto;
 
     }
 
-    public static List<ItemDateDto> mapToItemDateDto(List<Item> items, List<BookingDates> bookingDates) {
-
-        Map<Integer, BookingDates> datesMap = bookingDates.stream()
-                .collect(Collectors.toMap(BookingDates::getItemId, Function.identity()));
-
-        return items.stream()
-                .map(item -> mapToItemDateDto(item, datesMap.get(item.getId())))
-                .collect(Collectors.toList());
-
+    public static ItemAvailabilityDto mapToItemAvailabilityDto(Item item, LocalDateTime from, LocalDateTime to,
+                                                               List<BookingInterval> busyIntervals) {
+        List<BusyPeriodDto> busy = busyIntervals.stream()
+                .map(interval -> new BusyPeriodDto(interval.getStart(), interval.getEnd()))
+                .toList();
+        return new ItemAvailabilityDto(item.getId(), from, to, item.getAvailable() && busy.isEmpty(), busy);
     }
 
-    public static List<ItemDateDto> mapToItemDateDto(List<Item> items, List<BookingDates> bookingDates,
-                                                     List<CommentDto> commentsDto) {
+    public static List<ItemDateDto> mapToItemDateDto(List<Item> items, List<CommentDto> commentsDto) {
         Map<Integer, List<CommentDto>> commentMap = commentsDto.stream()
                 .collect(Collectors.groupingBy(CommentDto::getItemId));
 
-        Map<Integer, BookingDates> datesMap = bookingDates.stream()
-                .collect(Collectors.toMap(BookingDates::getItemId, Function.identity()));
-
         return items.stream()
-                .map(item -> mapToItemDateDto(item, datesMap.get(item.getId()), commentMap.get(item.getId())))
+                .map(item -> mapToItemDateDto(item, commentMap.get(item.getId())))
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ItemShortDto {
+
+    private int id;
+    private String name;
+    private String description;
+    private Boolean available;
+}
@@ -1,26 +1,57 @@
 package ru.practicum.shareit.item.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+
 @Data
 @Entity
+@DynamicUpdate
 @Table(name = "items")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "entity.items")
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private int id;
     private String name;
     private String description;
     private Boolean available;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User ownerUser;
-    @Transient
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "request_id")
     private ItemRequest itemRequest;
+    @JsonIgnore
+    @Column(name = "last_booking_end")
+    private LocalDateTime lastBookingEnd;
+    @JsonIgnore
+    @Column(name = "next_booking_start")
+    private LocalDateTime nextBookingStart;
+    @JsonIgnore
+    @Column(name = "booking_dates_refresh_at")
+    private LocalDateTime bookingDatesRefreshAt;
+    @JsonIgnore
+    @Column(name = "last_comment_id")
+    private Integer lastCommentId;
+    @JsonIgnore
+    @Version
+    private Long version;
+    @JsonIgnore
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
 
     public Item() {
     }
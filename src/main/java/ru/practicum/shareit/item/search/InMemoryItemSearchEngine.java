@@ -0,0 +1,256 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemStorageDb;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.transaction.TransactionHooks;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Триграммный индекс доступных вещей в памяти узла.
+ * В индексе хранится только id владельца, сам владелец читается при выдаче, поэтому смена имени или почты
+ * видна в поиске сразу. Изменения вещей с других узлов приходят через outbox ({@link #refresh}).
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+@Slf4j
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemStorageDb itemStorageDb;
+    private final UserStorageDb userStorageDb;
+    private final Map<String, IntPostingList> postings = new HashMap<>();
+    private final Map<Integer, IndexedItem> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public InMemoryItemSearchEngine(ItemStorageDb itemStorageDb, UserStorageDb userStorageDb) {
+        this.itemStorageDb = itemStorageDb;
+        this.userStorageDb = userStorageDb;
+    }
+
+    @PostConstruct
+    private void buildIndex() {
+        List<Item> items = itemStorageDb.findAllByAvailableTrue().stream()
+                .map(InMemoryItemSearchEngine::copyOf)
+                .toList();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            items.forEach(this::addDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Поисковый индекс построен: {} предметов, {} триграмм", documents.size(), postings.size());
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        String query = text.toLowerCase();
+        List<IndexedItem> found = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int id : findCandidates(query)) {
+                IndexedItem document = documents.get(id);
+                if (document.name.contains(query) || document.description.contains(query)) {
+                    found.add(document);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Item> page = found.stream()
+                .sorted(Comparator.comparing((IndexedItem document) -> !document.name.contains(query))
+                        .thenComparingInt(document -> document.item.getId()))
+                .skip(from)
+                .limit(size)
+                .map(document -> document.item)
+                .toList();
+        return withCurrentOwners(page);
+    }
+
+    @Override
+    public void index(Item item) {
+        Item snapshot = copyOf(item);
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeDocument(snapshot.getId());
+                if (Boolean.TRUE.equals(snapshot.getAvailable())) {
+                    addDocument(snapshot);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void remove(int itemId) {
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeDocument(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void removeAllOfOwner(int ownerId) {
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                documents.values().stream()
+                        .filter(document -> document.item.getOwnerUser().getId() == ownerId)
+                        .map(document -> document.item.getId())
+                        .toList()
+                        .forEach(this::removeDocument);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void refresh(Collection<Integer> itemIds) {
+        List<Item> items = itemStorageDb.findAllById(itemIds).stream()
+                .map(InMemoryItemSearchEngine::copyOf)
+                .toList();
+        lock.writeLock().lock();
+        try {
+            itemIds.forEach(this::removeDocument);
+            items.stream()
+                    .filter(item -> Boolean.TRUE.equals(item.getAvailable()))
+                    .forEach(this::addDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void refreshAll() {
+        buildIndex();
+    }
+
+    private List<Item> withCurrentOwners(List<Item> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        Map<Integer, User> owners = userStorageDb.findAllById(items.stream()
+                        .map(item -> item.getOwnerUser().getId())
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        // снимки в индексе общие для всех потоков, поэтому владелец подставляется в копию
+        return items.stream()
+                .filter(item -> owners.containsKey(item.getOwnerUser().getId()))
+                .map(item -> new Item(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                        owners.get(item.getOwnerUser().getId()), item.getItemRequest()))
+                .toList();
+    }
+
+    private int[] findCandidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return documents.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+        List<IntPostingList> lists = new ArrayList<>();
+        for (String gram : gramsOf(query)) {
+            IntPostingList list = postings.get(gram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(IntPostingList::size));
+        int[] candidates = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = lists.get(i).intersect(candidates);
+        }
+        return candidates;
+    }
+
+    private void addDocument(Item item) {
+        IndexedItem document = new IndexedItem(item);
+        documents.put(item.getId(), document);
+        for (String gram : document.grams) {
+            postings.computeIfAbsent(gram, key -> new IntPostingList()).add(item.getId());
+        }
+    }
+
+    private void removeDocument(int itemId) {
+        IndexedItem document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        for (String gram : document.grams) {
+            IntPostingList list = postings.get(gram);
+            list.remove(itemId);
+            if (list.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> gramsOf(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static Item copyOf(Item item) {
+        User ownerRef = new User();
+        ownerRef.setId(item.getOwnerUser().getId());
+        return new Item(item.getId(), item.getName(), item.getDescription(), item.getAvailable(), ownerRef,
+                requestRefOf(item.getItemRequest()));
+    }
+
+    private static ItemRequest requestRefOf(ItemRequest itemRequest) {
+        if (itemRequest == null) {
+            return null;
+        }
+        ItemRequest reference = new ItemRequest();
+        reference.setId(itemRequest.getId());
+        return reference;
+    }
+
+    private static class IndexedItem {
+
+        private final Item item;
+        private final String name;
+        private final String description;
+        private final Set<String> grams;
+
+        IndexedItem(Item item) {
+            this.item = item;
+            this.name = item.getName().toLowerCase();
+            this.description = item.getDescription().toLowerCase();
+            this.grams = gramsOf(name);
+            this.grams.addAll(gramsOf(description));
+        }
+
+    }
+
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemSearchEngine {
+
+    List<Item> search(String text, int from, int size);
+
+    default void index(Item item) {
+    }
+
+    default void remove(int itemId) {
+    }
+
+    default void removeAllOfOwner(int ownerId) {
+    }
+
+    /**
+     * Вещи изменились на другом узле: перечитать их из базы.
+     */
+    default void refresh(Collection<Integer> itemIds) {
+    }
+
+    /**
+     * Сообщения с других узлов могли потеряться: перестроить локальное состояние целиком.
+     */
+    default void refreshAll() {
+    }
+
+    static String toContainsPattern(String text) {
+        String escaped = text.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemStorageDb;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.OffsetPageable;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "jpql")
+public class JpqlItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemStorageDb itemStorageDb;
+
+    public JpqlItemSearchEngine(ItemStorageDb itemStorageDb) {
+        this.itemStorageDb = itemStorageDb;
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return itemStorageDb.searchRankedByPattern(ItemSearchEngine.toContainsPattern(text),
+                OffsetPageable.of(from, size));
+    }
+
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemStorageDb;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemStorageDb itemStorageDb;
+
+    public PostgresItemSearchEngine(ItemStorageDb itemStorageDb) {
+        this.itemStorageDb = itemStorageDb;
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return itemStorageDb.searchRankedByTrigrams(text, ItemSearchEngine.toContainsPattern(text), from, size);
+    }
+
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ValidationException;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingRequestState;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.PermissionException;
+
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Метрики горячих путей: выборки бронирований по состоянию, проверка пересечений, поиск вещей, отзывы
+ * и подписки на события бронирований.
+ * У таймеров есть тег {@code outcome}: {@code success}, {@code rejected} для ошибок клиента и {@code error} для остальных.
+ */
+@Component
+public class ShareItMetrics {
+
+    public static final String BOOKINGS_QUERY = "shareit.bookings.query";
+    public static final String BOOKINGS_QUERY_RESULTS = "shareit.bookings.query.results";
+    public static final String BOOKINGS_OVERLAP_CHECKS = "shareit.bookings.overlap.checks";
+    public static final String ITEMS_SEARCH = "shareit.items.search";
+    public static final String ITEMS_SEARCH_RESULTS = "shareit.items.search.results";
+    public static final String COMMENTS_CREATE = "shareit.comments.create";
+    public static final String NOTIFICATIONS_SUBSCRIBERS = "shareit.notifications.subscribers";
+    public static final String NOTIFICATIONS_DROPPED = "shareit.notifications.dropped";
+
+    public static final String VIEW_BOOKER = "booker";
+    public static final String VIEW_OWNER = "owner";
+    public static final String OVERLAP_SOURCE_CACHE = "cache";
+    public static final String OVERLAP_SOURCE_BATCH = "batch";
+    public static final String OVERLAP_SOURCE_CONSTRAINT = "constraint";
+
+    private static final String SUCCESS = "success";
+    private static final String REJECTED = "rejected";
+    private static final String ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+
+    public ShareItMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T recordBookingQuery(String view, BookingRequestState state, Supplier<T> query, ToIntFunction<T> size) {
+        Tags tags = Tags.of("view", view, "state", state.name());
+        T result = record(BOOKINGS_QUERY, tags, query);
+        DistributionSummary.builder(BOOKINGS_QUERY_RESULTS)
+                .description("Число бронирований на странице выборки")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(size.applyAsInt(result));
+        return result;
+    }
+
+    public void recordOverlapCheck(String source, boolean rejected) {
+        Counter.builder(BOOKINGS_OVERLAP_CHECKS)
+                .description("Проверки пересечения дат бронирования")
+                .tags("source", source, "outcome", rejected ? REJECTED : SUCCESS)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public <T> T recordSearch(Supplier<T> search, ToIntFunction<T> size) {
+        T result = record(ITEMS_SEARCH, Tags.empty(), search);
+        DistributionSummary.builder(ITEMS_SEARCH_RESULTS)
+                .description("Число вещей в ответе поиска")
+                .register(meterRegistry)
+                .record(size.applyAsInt(result));
+        return result;
+    }
+
+    public <T> T recordCommentCreation(Supplier<T> creation) {
+        return record(COMMENTS_CREATE, Tags.empty(), creation);
+    }
+
+    public void registerNotificationSubscribers(Number subscribers) {
+        Gauge.builder(NOTIFICATIONS_SUBSCRIBERS, subscribers, Number::doubleValue)
+                .description("Открытые подписки владельцев на события бронирований")
+                .register(meterRegistry);
+    }
+
+    public void recordDroppedSubscriber() {
+        Counter.builder(NOTIFICATIONS_DROPPED)
+                .description("Подписки, закрытые из-за переполнения буфера событий")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private <T> T record(String name, Tags tags, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = ERROR;
+        try {
+            T result = action.get();
+            outcome = SUCCESS;
+            return result;
+        } catch (ValidationException | NotFoundException | PermissionException e) {
+            outcome = REJECTED;
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+}
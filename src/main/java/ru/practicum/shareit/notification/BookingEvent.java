@@ -0,0 +1,20 @@
+package ru.practicum.shareit.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+/**
+ * Изменение бронирования для владельца вещи. Публикуется внутри транзакции, доставляется подписчикам после коммита.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingEvent {
+
+    private final BookingEventType type;
+    private final int ownerId;
+    private final BookingDto booking;
+
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum BookingEventType {
+
+    CREATED("booking-created"),
+    STATUS_CHANGED("booking-status-changed");
+
+    private final String eventName;
+
+}
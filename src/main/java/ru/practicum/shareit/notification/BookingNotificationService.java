@@ -0,0 +1,171 @@
+package ru.practicum.shareit.notification;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.metrics.ShareItMetrics;
+import ru.practicum.shareit.user.UserStorageDb;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Рассылка событий бронирований владельцам вещей через Server-Sent Events вместо опроса
+ * {@code GET /bookings/owner?state=WAITING}.
+ * События принимаются после коммита и раскладываются по буферам подписок, отправку выполняет собственный
+ * ограниченный пул (на виртуальных потоках, если они включены), отдельный от пула задач приложения с выгрузками
+ * и outbox. Если буфер подписки переполнен, соединение закрывается: клиент переподключается и перечитывает
+ * список бронирований. Отправка дольше {@code shareit.notifications.send-timeout} прерывается, а подписка
+ * закрывается, так что зависшие клиенты не занимают потоки пула надолго.
+ */
+@Component
+@Slf4j
+public class BookingNotificationService {
+
+    private final Map<Integer, Set<OwnerSubscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final UserStorageDb userStorageDb;
+    private final ShareItMetrics shareItMetrics;
+    private final ExecutorService executor;
+    private final Duration timeout;
+    private final Duration sendTimeout;
+    private final int bufferSize;
+
+    public BookingNotificationService(UserStorageDb userStorageDb, ShareItMetrics shareItMetrics,
+                                      @Value("${shareit.notifications.timeout:PT30M}") Duration timeout,
+                                      @Value("${shareit.notifications.send-timeout:PT10S}") Duration sendTimeout,
+                                      @Value("${shareit.notifications.buffer-size:32}") int bufferSize,
+                                      @Value("${shareit.notifications.delivery-threads:16}") int deliveryThreads,
+                                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.userStorageDb = userStorageDb;
+        this.shareItMetrics = shareItMetrics;
+        this.timeout = timeout;
+        this.sendTimeout = sendTimeout;
+        this.bufferSize = bufferSize;
+        this.executor = newDeliveryExecutor(deliveryThreads, virtualThreads);
+        shareItMetrics.registerNotificationSubscribers(subscriberCount);
+    }
+
+    public SseEmitter subscribe(int ownerId) {
+        userStorageDb.findCachedById(ownerId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+        return subscribe(ownerId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(int ownerId, SseEmitter emitter) {
+        OwnerSubscription subscription = new OwnerSubscription(ownerId, emitter, bufferSize);
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(subscription));
+        subscriptions.computeIfAbsent(ownerId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        subscriberCount.incrementAndGet();
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onBookingEvent(BookingEvent event) {
+        Set<OwnerSubscription> ownerSubscriptions = subscriptions.get(event.getOwnerId());
+        if (ownerSubscriptions == null) {
+            return;
+        }
+        for (OwnerSubscription subscription : ownerSubscriptions) {
+            if (!subscription.offer(event)) {
+                log.warn("Буфер событий владельца {} переполнен, соединение закрыто", event.getOwnerId());
+                shareItMetrics.recordDroppedSubscriber();
+                unsubscribe(subscription);
+                subscription.getEmitter().complete();
+            } else if (subscription.startDraining()) {
+                executor.execute(() -> drain(subscription));
+            }
+        }
+    }
+
+    private void drain(OwnerSubscription subscription) {
+        do {
+            BookingEvent event;
+            while ((event = subscription.poll()) != null) {
+                subscription.beginSend();
+                try {
+                    subscription.getEmitter().send(SseEmitter.event()
+                            .name(event.getType().getEventName())
+                            .data(event.getBooking(), MediaType.APPLICATION_JSON));
+                } catch (IOException e) {
+                    log.debug("Не удалось отправить событие владельцу {}: {}", subscription.getOwnerId(), e.getMessage());
+                    unsubscribe(subscription);
+                    subscription.getEmitter().completeWithError(e);
+                    return;
+                } catch (IllegalStateException e) {
+                    log.debug("Не удалось отправить событие владельцу {}: {}", subscription.getOwnerId(), e.getMessage());
+                    unsubscribe(subscription);
+                    return;
+                } finally {
+                    subscription.endSend();
+                }
+                if (subscription.isStalled()) {
+                    // запись завершилась уже после таймаута, подписка снята планировщиком
+                    subscription.getEmitter().completeWithError(
+                            new TimeoutException("Отправка события превысила " + sendTimeout));
+                    return;
+                }
+            }
+        } while (subscription.stopDraining());
+    }
+
+    /**
+     * Прерывает отправки, которые висят дольше {@code send-timeout}: клиент не читает поток.
+     * Соединение закрывает сам поток отправки, когда запись прервётся, поэтому планировщик здесь не блокируется.
+     */
+    @Scheduled(fixedDelayString = "${shareit.notifications.stall-check-delay:PT1S}")
+    public void closeStalledSubscriptions() {
+        long deadline = System.nanoTime() - sendTimeout.toNanos();
+        subscriptions.values().forEach(ownerSubscriptions -> ownerSubscriptions.forEach(subscription -> {
+            if (subscription.interruptSendStartedBefore(deadline)) {
+                log.warn("Отправка события владельцу {} длится дольше {}, соединение закрыто",
+                        subscription.getOwnerId(), sendTimeout);
+                shareItMetrics.recordDroppedSubscriber();
+                unsubscribe(subscription);
+            }
+        }));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static ExecutorService newDeliveryExecutor(int threads, boolean virtualThreads) {
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("sse-delivery-", 0).factory()
+                : Thread.ofPlatform().name("sse-delivery-", 0).daemon().factory();
+        // очередь не ограничена, но в ней не больше одной задачи на подписку: остальное ждёт в буфере подписки
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private void unsubscribe(OwnerSubscription subscription) {
+        subscriptions.computeIfPresent(subscription.getOwnerId(), (ownerId, ownerSubscriptions) -> {
+            if (ownerSubscriptions.remove(subscription)) {
+                subscriberCount.decrementAndGet();
+            }
+            return ownerSubscriptions.isEmpty() ? null : ownerSubscriptions;
+        });
+    }
+
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.notification;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Подписка владельца на поток событий: соединение SSE и ограниченный буфер ещё не отправленных событий.
+ * Узлы очереди создаются только под события, поэтому простаивающая подписка почти ничего не занимает.
+ * Отправкой занимается не больше одной задачи за раз, её запускает тот, кто перевёл {@code draining} в true.
+ * На время отправки запоминается поток и момент начала, чтобы зависшую отправку можно было прервать.
+ */
+class OwnerSubscription {
+
+    private final int ownerId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<BookingEvent> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Lock sendLock = new ReentrantLock();
+    private Thread sender;
+    private long sendStartedNanos;
+    private boolean stalled;
+
+    OwnerSubscription(int ownerId, SseEmitter emitter, int bufferSize) {
+        this.ownerId = ownerId;
+        this.emitter = emitter;
+        this.buffer = new LinkedBlockingQueue<>(bufferSize);
+    }
+
+    int getOwnerId() {
+        return ownerId;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean offer(BookingEvent event) {
+        return buffer.offer(event);
+    }
+
+    BookingEvent poll() {
+        return buffer.poll();
+    }
+
+    boolean startDraining() {
+        return draining.compareAndSet(false, true);
+    }
+
+    void beginSend() {
+        sendLock.lock();
+        try {
+            sender = Thread.currentThread();
+            sendStartedNanos = System.nanoTime();
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    /**
+     * Завершает отправку. Прерывание, выставленное {@link #interruptSendStartedBefore}, снимается здесь же,
+     * чтобы оно не досталось следующей задаче потока.
+     */
+    void endSend() {
+        sendLock.lock();
+        try {
+            sender = null;
+            if (stalled) {
+                Thread.interrupted();
+            }
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    boolean isStalled() {
+        sendLock.lock();
+        try {
+            return stalled;
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    /**
+     * Прерывает отправку, начатую раньше {@code deadlineNanos}. Возвращает true один раз для зависшей подписки.
+     */
+    boolean interruptSendStartedBefore(long deadlineNanos) {
+        sendLock.lock();
+        try {
+            if (sender == null || stalled || sendStartedNanos - deadlineNanos > 0) {
+                return false;
+            }
+            stalled = true;
+            sender.interrupt();
+            return true;
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    /**
+     * Снимает признак отправки и сообщает, нужно ли запустить её снова: событие могло прийти,
+     * когда задача уже опустошила буфер, но ещё не сняла признак.
+     */
+    boolean stopDraining() {
+        draining.set(false);
+        return !buffer.isEmpty() && startDraining();
+    }
+
+}
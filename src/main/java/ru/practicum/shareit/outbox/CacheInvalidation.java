@@ -0,0 +1,35 @@
+package ru.practicum.shareit.outbox;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "cache_invalidation_outbox")
+@NoArgsConstructor
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cache_invalidation_outbox_seq")
+    @SequenceGenerator(name = "cache_invalidation_outbox_seq", sequenceName = "cache_invalidation_outbox_seq",
+            allocationSize = 50)
+    private long id;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type")
+    private CacheInvalidationType entityType;
+    @Column(name = "entity_id")
+    private int entityId;
+    private String origin;
+    private LocalDateTime created;
+
+    public CacheInvalidation(CacheInvalidationType entityType, int entityId, String origin, LocalDateTime created) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.origin = origin;
+        this.created = created;
+    }
+
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.outbox;
+
+/**
+ * Доставка сообщений из outbox на все узлы. {@link #publish} вызывается в транзакции, которая удаляет
+ * опубликованные записи, и должен доставлять сообщение только после её коммита.
+ */
+public interface CacheInvalidationBroadcaster {
+
+    void publish(CacheInvalidationMessage message);
+
+}
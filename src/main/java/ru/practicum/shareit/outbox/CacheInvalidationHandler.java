@@ -0,0 +1,83 @@
+package ru.practicum.shareit.outbox;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingAvailabilityCache;
+import ru.practicum.shareit.cache.CacheConfig;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Objects;
+
+/**
+ * Применяет изменения, пришедшие с других узлов: сбрасывает кэши Spring, второй уровень Hibernate
+ * и расписания бронирований, обновляет локальный поисковый индекс. Свои сообщения пропускаются: локальные кэши узел сбрасывает сам через
+ * {@link ru.practicum.shareit.cache.EntityCacheEvictor}, в том числе второй уровень для вещей,
+ * удалённых каскадом в базе.
+ * Кэши Spring сбрасываются сразу через {@code evictIfPresent}: обычный {@code evict} транзакционного кэша
+ * откладывается до коммита, а в {@code afterCommit} такая отложенная операция уже не выполнится.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationHandler {
+
+    private final CacheInvalidationOutbox cacheInvalidationOutbox;
+    private final BookingAvailabilityCache availabilityCache;
+    private final ItemSearchEngine itemSearchEngine;
+    private final org.hibernate.Cache secondLevelCache;
+    private final Cache users;
+    private final Cache items;
+
+    public CacheInvalidationHandler(CacheInvalidationOutbox cacheInvalidationOutbox,
+                                    BookingAvailabilityCache availabilityCache, ItemSearchEngine itemSearchEngine,
+                                    EntityManagerFactory entityManagerFactory, CacheManager cacheManager) {
+        this.cacheInvalidationOutbox = cacheInvalidationOutbox;
+        this.availabilityCache = availabilityCache;
+        this.itemSearchEngine = itemSearchEngine;
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.users = Objects.requireNonNull(cacheManager.getCache(CacheConfig.USERS));
+        this.items = Objects.requireNonNull(cacheManager.getCache(CacheConfig.ITEMS));
+    }
+
+    public void apply(CacheInvalidationMessage message) {
+        if (cacheInvalidationOutbox.getNodeId().equals(message.getOrigin())) {
+            return;
+        }
+        switch (message.getType()) {
+            case USER -> message.getEntityIds().forEach(userId -> {
+                users.evictIfPresent(userId);
+                secondLevelCache.evictEntityData(User.class, userId);
+            });
+            case ITEM -> {
+                message.getEntityIds().forEach(itemId -> {
+                    items.evictIfPresent(itemId);
+                    secondLevelCache.evictEntityData(Item.class, itemId);
+                });
+                secondLevelCache.evictQueryRegion(CacheConfig.ITEMS_BY_OWNER_REGION);
+                itemSearchEngine.refresh(message.getEntityIds());
+            }
+            case ITEM_TIMELINE -> message.getEntityIds().forEach(availabilityCache::invalidate);
+        }
+        log.debug("Применено изменение кэша с узла {}: {} {}", message.getOrigin(), message.getType(),
+                message.getEntityIds().size());
+    }
+
+    /**
+     * Полный сброс, когда сообщения могли потеряться, например пока не было соединения с каналом.
+     */
+    public void invalidateAll() {
+        users.invalidate();
+        items.invalidate();
+        secondLevelCache.evictEntityData(User.class);
+        secondLevelCache.evictEntityData(Item.class);
+        secondLevelCache.evictQueryRegion(CacheConfig.ITEMS_BY_OWNER_REGION);
+        availabilityCache.invalidateAll();
+        itemSearchEngine.refreshAll();
+    }
+
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Сообщение об изменённых сущностях одного типа. В канале передаётся строкой {@code origin;TYPE;1,2,3}.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class CacheInvalidationMessage {
+
+    private static final String SEPARATOR = ";";
+
+    private final String origin;
+    private final CacheInvalidationType type;
+    private final List<Integer> entityIds;
+
+    public static CacheInvalidationMessage decode(String payload) {
+        String[] parts = payload.split(SEPARATOR, 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Неверное сообщение об изменении кэша: " + payload);
+        }
+        return new CacheInvalidationMessage(parts[0], CacheInvalidationType.valueOf(parts[1]),
+                Arrays.stream(parts[2].split(","))
+                        .map(Integer::valueOf)
+                        .toList());
+    }
+
+    public String encode() {
+        return origin + SEPARATOR + type + SEPARATOR + entityIds.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
+}
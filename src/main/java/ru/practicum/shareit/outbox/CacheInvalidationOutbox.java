@@ -0,0 +1,46 @@
+package ru.practicum.shareit.outbox;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Запись изменений пользователей, вещей и расписаний бронирований в outbox в той же транзакции, что и сами изменения.
+ * Если транзакция откатится, откатятся и записи, поэтому другие узлы не сбросят кэш из-за несостоявшегося изменения
+ * и не пропустят состоявшееся. Публикацией занимается {@link CacheInvalidationRelay}.
+ */
+@Component
+public class CacheInvalidationOutbox {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheInvalidationStorageDb cacheInvalidationStorageDb;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CacheInvalidationOutbox(CacheInvalidationStorageDb cacheInvalidationStorageDb,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.cacheInvalidationStorageDb = cacheInvalidationStorageDb;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(CacheInvalidationType type, Collection<Integer> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        cacheInvalidationStorageDb.saveAll(entityIds.stream()
+                .map(entityId -> new CacheInvalidation(type, entityId, nodeId, now))
+                .toList());
+        eventPublisher.publishEvent(new CacheInvalidationRecorded());
+    }
+
+}
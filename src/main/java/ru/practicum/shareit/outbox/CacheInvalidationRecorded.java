@@ -0,0 +1,8 @@
+package ru.practicum.shareit.outbox;
+
+/**
+ * Сигнал, что транзакция добавила записи в outbox: после её коммита ретранслятор публикует их, не дожидаясь
+ * планового запуска.
+ */
+public class CacheInvalidationRecorded {
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Публикует записи outbox через {@link CacheInvalidationBroadcaster} и удаляет их в одной транзакции.
+ * Запускается после каждого коммита с новыми записями и по расписанию, чтобы подобрать записи упавших узлов.
+ * Записи блокируются с SKIP LOCKED, поэтому узлы не публикуют одно и то же одновременно; повторная доставка
+ * после сбоя безопасна, сброс кэша идемпотентен.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationRelay {
+
+    // Полезная нагрузка NOTIFY ограничена 8000 байтами
+    static final int MAX_IDS_PER_MESSAGE = 500;
+
+    private final CacheInvalidationStorageDb cacheInvalidationStorageDb;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final int batchSize;
+    private final ReentrantLock relayLock = new ReentrantLock();
+    private final AtomicBoolean relayScheduled = new AtomicBoolean();
+
+    public CacheInvalidationRelay(CacheInvalidationStorageDb cacheInvalidationStorageDb,
+                                  CacheInvalidationBroadcaster broadcaster,
+                                  PlatformTransactionManager transactionManager,
+                                  @Qualifier("applicationTaskExecutor") Executor executor,
+                                  @Value("${shareit.outbox.batch-size:1000}") int batchSize) {
+        this.cacheInvalidationStorageDb = cacheInvalidationStorageDb;
+        this.broadcaster = broadcaster;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    @TransactionalEventListener
+    public void onRecorded(CacheInvalidationRecorded event) {
+        if (relayScheduled.compareAndSet(false, true)) {
+            executor.execute(this::relay);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.outbox.relay-delay:PT5S}")
+    public void relay() {
+        relayScheduled.set(false);
+        if (!relayLock.tryLock()) {
+            return;
+        }
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> publishPending());
+            } while (published != null && published == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось опубликовать изменения кэша: {}", e.getMessage());
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    private int publishPending() {
+        List<CacheInvalidation> pending = cacheInvalidationStorageDb.lockOldest(PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        Map<String, Map<CacheInvalidationType, List<Integer>>> idsByOrigin = pending.stream()
+                .collect(Collectors.groupingBy(CacheInvalidation::getOrigin,
+                        Collectors.groupingBy(CacheInvalidation::getEntityType,
+                                Collectors.mapping(CacheInvalidation::getEntityId, Collectors.toList()))));
+        idsByOrigin.forEach((origin, idsByType) -> idsByType.forEach((type, ids) -> {
+            for (int from = 0; from < ids.size(); from += MAX_IDS_PER_MESSAGE) {
+                broadcaster.publish(new CacheInvalidationMessage(origin, type,
+                        List.copyOf(ids.subList(from, Math.min(from + MAX_IDS_PER_MESSAGE, ids.size())))));
+            }
+        }));
+        cacheInvalidationStorageDb.deleteAllByIdInBatch(pending.stream()
+                .map(CacheInvalidation::getId)
+                .toList());
+        log.debug("Опубликовано {} изменений кэша", pending.size());
+        return pending.size();
+    }
+
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.outbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+
+public interface CacheInvalidationStorageDb extends JpaRepository<CacheInvalidation, Long> {
+
+    // -2 означает SKIP LOCKED: узлы публикуют разные части очереди, а не ждут друг друга
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select c from CacheInvalidation c order by c.id")
+    List<CacheInvalidation> lockOldest(Pageable pageable);
+
+}
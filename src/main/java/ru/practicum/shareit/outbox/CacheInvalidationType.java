@@ -0,0 +1,9 @@
+package ru.practicum.shareit.outbox;
+
+public enum CacheInvalidationType {
+
+    USER,
+    ITEM,
+    ITEM_TIMELINE
+
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.transaction.TransactionHooks;
+
+/**
+ * Доставка внутри одного процесса для тестов и запуска без PostgreSQL. Другие узлы в тестах изображают записи
+ * outbox с чужим {@code origin}.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.broadcaster", havingValue = "memory")
+public class InMemoryCacheInvalidationBroadcaster implements CacheInvalidationBroadcaster {
+
+    private final CacheInvalidationHandler cacheInvalidationHandler;
+
+    public InMemoryCacheInvalidationBroadcaster(CacheInvalidationHandler cacheInvalidationHandler) {
+        this.cacheInvalidationHandler = cacheInvalidationHandler;
+    }
+
+    @Override
+    public void publish(CacheInvalidationMessage message) {
+        TransactionHooks.afterCommit(() -> cacheInvalidationHandler.apply(message));
+    }
+
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Рассылка через LISTEN/NOTIFY PostgreSQL. {@code pg_notify} транзакционный: сообщение уходит подписчикам
+ * только при коммите транзакции ретранслятора, вместе с удалением записей outbox.
+ * Каждый узел слушает канал на отдельном соединении вне пула. После переподключения узел сбрасывает кэши целиком,
+ * потому что сообщения, отправленные без него, не сохраняются.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.broadcaster", havingValue = "postgres", matchIfMissing = true)
+@Slf4j
+public class PostgresCacheInvalidationBroadcaster implements CacheInvalidationBroadcaster, SmartLifecycle {
+
+    static final String CHANNEL = "shareit_cache_invalidation";
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final CacheInvalidationHandler cacheInvalidationHandler;
+    private final Duration reconnectDelay;
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresCacheInvalidationBroadcaster(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+                                                CacheInvalidationHandler cacheInvalidationHandler,
+                                                @Value("${shareit.outbox.reconnect-delay:PT5S}") Duration reconnectDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.cacheInvalidationHandler = cacheInvalidationHandler;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public void publish(CacheInvalidationMessage message) {
+        jdbcTemplate.queryForObject("select pg_notify(?, ?)", String.class, CHANNEL, message.encode());
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        listener = Thread.ofPlatform()
+                .daemon()
+                .name("cache-invalidation-listener")
+                .start(this::listen);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                cacheInvalidationHandler.invalidateAll();
+                log.info("Подписка на канал {} установлена", CHANNEL);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Потеряна подписка на канал {}: {}", CHANNEL, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void apply(String payload) {
+        try {
+            cacheInvalidationHandler.apply(CacheInvalidationMessage.decode(payload));
+        } catch (IllegalArgumentException e) {
+            log.warn("Пропущено сообщение из канала {}: {}", CHANNEL, e.getMessage());
+        }
+    }
+
+}
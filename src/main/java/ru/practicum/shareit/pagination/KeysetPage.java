@@ -0,0 +1,35 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private List<T> content;
+    private String nextCursor;
+
+    public static <T> KeysetPage<T> of(Slice<T> slice, Function<T, KeysetCursor> cursorExtractor) {
+        List<T> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? cursorExtractor.apply(content.get(content.size() - 1)).encode()
+                : null;
+        return new KeysetPage<>(content, nextCursor);
+    }
+
+    public static Pageable toPageable(int from, int size, String cursor) {
+        if (cursor != null && !cursor.isBlank()) {
+            return OffsetPageable.of(0, size);
+        }
+        return OffsetPageable.of(from, size);
+    }
+
+}
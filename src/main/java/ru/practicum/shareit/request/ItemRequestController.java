@@ -1,12 +1,64 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.KeysetPage;
+import ru.practicum.shareit.request.dto.CreateItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.List;
 
-/**
- * TODO Sprint add-item-requests.
- */
 @RestController
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
+
+    private final ItemRequestService itemRequestService;
+    private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final int MAX_PAGE_SIZE = 100;
+
+    public ItemRequestController(ItemRequestService itemRequestService) {
+        this.itemRequestService = itemRequestService;
+    }
+
+    @PostMapping
+    public ItemRequestDto create(@RequestHeader(REQUEST_HEADER) int userId,
+                                 @Valid @RequestBody CreateItemRequestDto createItemRequestDto) {
+        return itemRequestService.create(userId, createItemRequestDto);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ItemRequestDto>> findUsersRequests(@RequestHeader(REQUEST_HEADER) int userId,
+                                                                  @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
+                                                                  @RequestParam(name = "size", defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
+                                                                  @RequestParam(name = "cursor", required = false) String cursor) {
+        return toResponse(itemRequestService.findUsersRequests(userId, from, size, cursor));
+    }
+
+    @GetMapping("/all")
+    public ResponseEntity<List<ItemRequestDto>> findOtherUsersRequests(@RequestHeader(REQUEST_HEADER) int userId,
+                                                                       @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
+                                                                       @RequestParam(name = "size", defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
+                                                                       @RequestParam(name = "cursor", required = false) String cursor) {
+        return toResponse(itemRequestService.findOtherUsersRequests(userId, from, size, cursor));
+    }
+
+    @GetMapping("/{requestId}")
+    public ItemRequestDto findById(@RequestHeader(REQUEST_HEADER) int userId,
+                                   @PathVariable(name = "requestId") int requestId) {
+        return itemRequestService.findById(userId, requestId);
+    }
+
+    private ResponseEntity<List<ItemRequestDto>> toResponse(KeysetPage<ItemRequestDto> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(KeysetPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
+    }
+
 }
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemStorageDb;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.KeysetPage;
+import ru.practicum.shareit.request.dto.CreateItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class ItemRequestService {
+
+    private final ItemRequestStorageDb itemRequestStorageDb;
+    private final ItemStorageDb itemStorageDb;
+    private final UserStorageDb userStorageDb;
+
+    public ItemRequestService(ItemRequestStorageDb itemRequestStorageDb, ItemStorageDb itemStorageDb,
+                              UserStorageDb userStorageDb) {
+        this.itemRequestStorageDb = itemRequestStorageDb;
+        this.itemStorageDb = itemStorageDb;
+        this.userStorageDb = userStorageDb;
+    }
+
+    @Transactional
+    public ItemRequestDto create(int userId, CreateItemRequestDto createItemRequestDto) {
+        User user = findUserById(userId);
+        // Точность до микросекунд, как у TIMESTAMP в базе, чтобы курсор из ответа совпадал с сохранённым значением
+        LocalDateTime created = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        ItemRequest itemRequest = itemRequestStorageDb.save(
+                ItemRequestMapper.mapToItemRequest(createItemRequestDto, user, created));
+        return ItemRequestMapper.mapToDto(itemRequest, List.of());
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<ItemRequestDto> findUsersRequests(int userId, int from, int size, String cursor) {
+        findUserById(userId);
+        KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+        return toPage(itemRequestStorageDb.findRequestorRequests(userId, keysetCursor.getTimestamp(),
+                keysetCursor.getId(), KeysetPage.toPageable(from, size, cursor)));
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<ItemRequestDto> findOtherUsersRequests(int userId, int from, int size, String cursor) {
+        findUserById(userId);
+        KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+        return toPage(itemRequestStorageDb.findOtherUsersRequests(userId, keysetCursor.getTimestamp(),
+                keysetCursor.getId(), KeysetPage.toPageable(from, size, cursor)));
+    }
+
+    @Transactional(readOnly = true)
+    public ItemRequestDto findById(int userId, int requestId) {
+        findUserById(userId);
+        ItemRequest itemRequest = itemRequestStorageDb.findById(requestId)
+                .orElseThrow(() -> new NotFoundException("Запрос не найден"));
+        return ItemRequestMapper.mapToDto(itemRequest, itemStorageDb.findAnswersByRequestIdIn(List.of(requestId)));
+    }
+
+    private KeysetPage<ItemRequestDto> toPage(Slice<ItemRequest> requests) {
+        Map<Integer, List<ItemAnswerDto>> answersByRequest = requests.isEmpty()
+                ? Map.of()
+                : itemStorageDb.findAnswersByRequestIdIn(requests.map(ItemRequest::getId).toList()).stream()
+                        .collect(Collectors.groupingBy(ItemAnswerDto::getRequestId));
+        return KeysetPage.of(requests.map(request -> ItemRequestMapper.mapToDto(request, answersByRequest)),
+                ItemRequestService::toCursor);
+    }
+
+    private User findUserById(int userId) {
+        return userStorageDb.findCachedById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+    }
+
+    private static KeysetCursor toCursor(ItemRequestDto itemRequestDto) {
+        return new KeysetCursor(itemRequestDto.getCreated(), itemRequestDto.getId());
+    }
+
+}
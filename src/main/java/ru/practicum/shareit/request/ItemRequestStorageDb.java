@@ -0,0 +1,26 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface ItemRequestStorageDb extends JpaRepository<ItemRequest, Integer> {
+
+    String KEYSET_PAGE = " and (r.created < :cursorCreated or (r.created = :cursorCreated and r.id < :cursorId))" +
+            " order by r.created desc, r.id desc";
+
+    @Query("select r from ItemRequest r where r.requestor.id = :requestorId" + KEYSET_PAGE)
+    Slice<ItemRequest> findRequestorRequests(@Param("requestorId") int requestorId,
+                                             @Param("cursorCreated") LocalDateTime cursorCreated,
+                                             @Param("cursorId") int cursorId, Pageable pageable);
+
+    @Query("select r from ItemRequest r where r.requestor.id <> :userId" + KEYSET_PAGE)
+    Slice<ItemRequest> findOtherUsersRequests(@Param("userId") int userId,
+                                              @Param("cursorCreated") LocalDateTime cursorCreated,
+                                              @Param("cursorId") int cursorId, Pageable pageable);
+
+}
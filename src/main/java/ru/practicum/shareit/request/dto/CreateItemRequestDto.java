@@ -0,0 +1,14 @@
+package ru.practicum.shareit.request.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+
+@Getter
+public class CreateItemRequestDto {
+
+    @NotBlank
+    @Size(max = 512)
+    private String description;
+
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.request.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Вещь, добавленная в ответ на запрос. Читается проекцией сразу для всей страницы запросов.
+ */
+@Data
+@AllArgsConstructor
+public class ItemAnswerDto {
+
+    private int id;
+    private String name;
+    private int ownerId;
+    @JsonIgnore
+    private int requestId;
+}
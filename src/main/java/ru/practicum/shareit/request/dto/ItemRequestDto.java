@@ -1,7 +1,17 @@
 package ru.practicum.shareit.request.dto;
 
-/**
- * TODO Sprint add-item-requests.
- */
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
 public class ItemRequestDto {
+
+    private int id;
+    private String description;
+    private LocalDateTime created;
+    private List<ItemAnswerDto> items;
 }
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.request.dto;
+
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class ItemRequestMapper {
+
+    public static ItemRequest mapToItemRequest(CreateItemRequestDto createItemRequestDto, User requestor,
+                                               LocalDateTime created) {
+        return new ItemRequest(createItemRequestDto.getDescription(), requestor, created);
+    }
+
+    public static ItemRequestDto mapToDto(ItemRequest itemRequest, List<ItemAnswerDto> answers) {
+        return new ItemRequestDto(itemRequest.getId(), itemRequest.getDescription(), itemRequest.getCreated(),
+                answers == null ? List.of() : answers);
+    }
+
+    public static ItemRequestDto mapToDto(ItemRequest itemRequest, Map<Integer, List<ItemAnswerDto>> answersByRequest) {
+        return mapToDto(itemRequest, answersByRequest.get(itemRequest.getId()));
+    }
+
+}
@@ -3,6 +3,8 @@ package ru.practicum.shareit.user;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.cache.ResourceVersion;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.UpdateUser;
 
@@ -25,7 +27,11 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public UserDto getUserById(@PathVariable(name = "userId") int userId) {
+    public UserDto getUserById(@PathVariable(name = "userId") int userId, WebRequest webRequest) {
+        ResourceVersion version = userService.getUserVersion(userId);
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
         return userService.getUserById(userId);
     }
 
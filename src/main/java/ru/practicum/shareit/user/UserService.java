@@ -3,30 +3,55 @@ package ru.practicum.shareit.user;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.cache.EntityCacheEvictor;
+import ru.practicum.shareit.cache.ResourceVersion;
+import ru.practicum.shareit.comment.CommentStorageDb;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UserDataException;
+import ru.practicum.shareit.item.ItemStorageDb;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.UpdateUser;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @Slf4j
 public class UserService {
 
     private final UserStorageDb userStorageDb;
+    private final ItemStorageDb itemStorageDb;
+    private final CommentStorageDb commentStorageDb;
+    private final ItemSearchEngine itemSearchEngine;
+    private final EntityCacheEvictor entityCacheEvictor;
 
-    public UserService(UserStorageDb userStorageDb) {
+    public UserService(UserStorageDb userStorageDb, ItemStorageDb itemStorageDb, CommentStorageDb commentStorageDb,
+                       ItemSearchEngine itemSearchEngine, EntityCacheEvictor entityCacheEvictor) {
         this.userStorageDb = userStorageDb;
+        this.itemStorageDb = itemStorageDb;
+        this.commentStorageDb = commentStorageDb;
+        this.itemSearchEngine = itemSearchEngine;
+        this.entityCacheEvictor = entityCacheEvictor;
     }
 
+    @Transactional(readOnly = true)
     public UserDto getUserById(int id) {
-        User user = userStorageDb.findById(id).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+        User user = userStorageDb.findCachedById(id).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
         return UserMapper.mapToDto(user);
     }
 
+    @Transactional(readOnly = true)
+    public ResourceVersion getUserVersion(int id) {
+        User user = userStorageDb.findCachedById(id).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+        return ResourceVersion.of(user.getUpdatedAt(), user.getId(), user.getVersion());
+    }
+
+    @Transactional(readOnly = true)
     public List<UserDto> getUsers() {
         return UserMapper.mapToDtos(userStorageDb.findAll());
     }
@@ -45,18 +70,43 @@ public class UserService {
         if (userStorageDb.existsByEmail(updateUser.getEmail())) {
             throw new UserDataException("Пользователь с данным email уже существует");
         }
-        User user = userStorageDb.findById(id).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+        // блокировка сериализует параллельные PATCH вместо конфликта @Version
+        User user = userStorageDb.lockById(id).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+        String previousName = user.getName();
         updateUsersFields(updateUser, user);
-        return UserMapper.mapToDto(userStorageDb.save(user));
+        User updatedUser = userStorageDb.save(user);
+        if (!Objects.equals(previousName, updatedUser.getName())) {
+            touchCommentedItems(id);
+        }
+        entityCacheEvictor.evictUser(id);
+        entityCacheEvictor.evictItems(itemStorageDb.findIdsByOwnerUserId(id));
+        return UserMapper.mapToDto(updatedUser);
     }
 
     @Transactional
     public UserDto deleteUser(int id) {
         User user = userStorageDb.findById(id).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+        List<Integer> itemIds = itemStorageDb.findIdsByOwnerUserId(id);
         userStorageDb.deleteById(id);
+        itemSearchEngine.removeAllOfOwner(id);
+        entityCacheEvictor.evictUser(id);
+        entityCacheEvictor.evictDeletedItems(itemIds);
         return UserMapper.mapToDto(user);
     }
 
+    // имя автора отзыва входит в ответ GET /items/{id}, поэтому вещи с его отзывами получают новую версию и ETag
+    private void touchCommentedItems(int authorId) {
+        List<Integer> itemIds = commentStorageDb.findItemIdsByAuthorId(authorId);
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Item item : itemStorageDb.lockAllByIdIn(itemIds)) {
+            item.setUpdatedAt(now);
+        }
+        entityCacheEvictor.evictItems(itemIds);
+    }
+
     private void updateUsersFields(UpdateUser updateUser, User user) {
 
         if (updateUser.getEmail() != null) {
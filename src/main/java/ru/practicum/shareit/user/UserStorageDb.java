@@ -1,10 +1,26 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.cache.CacheConfig;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Optional;
+
 public interface UserStorageDb extends JpaRepository<User, Integer> {
 
     boolean existsByEmail(String email);
 
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id", unless = "#result == null || @replicaReads.isActive()")
+    @Query("select u from User u where u.id = :id")
+    Optional<User> findCachedById(@Param("id") int id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.id = :id")
+    Optional<User> lockById(@Param("id") int id);
+
 }
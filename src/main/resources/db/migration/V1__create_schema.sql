@@ -32,4 +32,4 @@ CREATE TABLE IF NOT EXISTS comments (
   created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
   FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
   FOREIGN KEY (author_id) REFERENCES users(id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
@@ -0,0 +1,13 @@
+CREATE INDEX IF NOT EXISTS idx_items_user_id ON items (user_id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_dates ON bookings (item_id, status, start_date, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_author_id ON comments (author_id);
@@ -0,0 +1,14 @@
+ALTER TABLE items ADD COLUMN last_booking_end TIMESTAMP WITHOUT TIME ZONE;
+ALTER TABLE items ADD COLUMN next_booking_start TIMESTAMP WITHOUT TIME ZONE;
+ALTER TABLE items ADD COLUMN booking_dates_refresh_at TIMESTAMP WITHOUT TIME ZONE;
+
+UPDATE items i SET
+  last_booking_end = (SELECT MAX(b.end_date) FROM bookings b
+                      WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.end_date <= LOCALTIMESTAMP),
+  next_booking_start = (SELECT MIN(b.start_date) FROM bookings b
+                        WHERE b.item_id = i.id AND b.status = 'APPROVED' AND b.start_date >= LOCALTIMESTAMP),
+  booking_dates_refresh_at = (SELECT MIN(CASE WHEN b.start_date >= LOCALTIMESTAMP THEN b.start_date
+                                              WHEN b.end_date > LOCALTIMESTAMP THEN b.end_date END)
+                              FROM bookings b WHERE b.item_id = i.id AND b.status = 'APPROVED');
+
+CREATE INDEX IF NOT EXISTS idx_items_booking_dates_refresh_at ON items (booking_dates_refresh_at);
@@ -0,0 +1,19 @@
+CREATE SEQUENCE IF NOT EXISTS item_requests_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS item_requests (
+  id BIGINT PRIMARY KEY,
+  description VARCHAR(512) NOT NULL,
+  requestor_id BIGINT NOT NULL,
+  created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  FOREIGN KEY (requestor_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+ALTER TABLE items ADD COLUMN request_id BIGINT;
+ALTER TABLE items ADD CONSTRAINT fk_items_request_id
+  FOREIGN KEY (request_id) REFERENCES item_requests(id) ON DELETE SET NULL;
+
+CREATE INDEX IF NOT EXISTS idx_item_requests_requestor_created ON item_requests (requestor_id, created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_item_requests_created ON item_requests (created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
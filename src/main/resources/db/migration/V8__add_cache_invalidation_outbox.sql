@@ -0,0 +1,9 @@
+CREATE SEQUENCE IF NOT EXISTS cache_invalidation_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS cache_invalidation_outbox (
+  id BIGINT PRIMARY KEY,
+  entity_type VARCHAR(32) NOT NULL,
+  entity_id BIGINT NOT NULL,
+  origin VARCHAR(64) NOT NULL,
+  created TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
@@ -0,0 +1,8 @@
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT LOCALTIMESTAMP;
+
+ALTER TABLE items ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE items ADD COLUMN updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT LOCALTIMESTAMP;
+ALTER TABLE items ADD COLUMN last_comment_id BIGINT;
+
+UPDATE items i SET last_comment_id = (SELECT MAX(c.id) FROM comments c WHERE c.item_id = i.id);
@@ -0,0 +1,67 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "shareit.search.engine=postgres"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class SchemaIndexTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16.1");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Таблицы в тесте почти пустые, и на них планировщик выбрал бы Seq Scan, поэтому он отключается на время EXPLAIN
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', textBlock = """
+            booker bookings        | idx_bookings_booker_start        | select b.id from bookings b where b.booker_id = 1 and (b.start_date < now() or (b.start_date = now() and b.id < 10)) order by b.start_date desc, b.id desc
+            booker bookings by state | idx_bookings_booker_status_start | select b.id from bookings b where b.booker_id = 1 and b.status = 'WAITING' order by b.start_date desc, b.id desc
+            owner items            | idx_items_user_id                | select i.id from items i where i.user_id = 1
+            owner bookings         | idx_bookings_item_start          | select b.id from bookings b join items i on i.id = b.item_id where i.user_id = 1 order by b.start_date desc, b.id desc
+            overlapping bookings   | idx_bookings_item_status_dates   | select b.id from bookings b where b.status = 'APPROVED' and b.item_id = 1 and now() <= b.end_date and now() >= b.start_date
+            comments of items      | idx_comments_item_id             | select c.id from comments c where c.item_id in (1, 2, 3)
+            requestor requests     | idx_item_requests_requestor_created | select r.id from item_requests r where r.requestor_id = 1 and (r.created < now() or (r.created = now() and r.id < 10)) order by r.created desc, r.id desc
+            other users requests   | idx_item_requests_created        | select r.id from item_requests r where r.requestor_id <> 1 and (r.created < now() or (r.created = now() and r.id < 10)) order by r.created desc, r.id desc
+            answers to requests    | idx_items_request_id             | select i.id from items i where i.request_id in (1, 2, 3)
+            """)
+    void queryPlanUsesIndex(String finder, String index, String query) {
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set enable_seqscan = off");
+                StringJoiner lines = new StringJoiner("\n");
+                try (ResultSet resultSet = statement.executeQuery("explain " + query)) {
+                    while (resultSet.next()) {
+                        lines.add(resultSet.getString(1));
+                    }
+                } finally {
+                    statement.execute("reset enable_seqscan");
+                }
+                return lines.toString();
+            }
+        });
+
+        assertThat(plan).as(finder).doesNotContain("Seq Scan").contains(index);
+    }
+
+}
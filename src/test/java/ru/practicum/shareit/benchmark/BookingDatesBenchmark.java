@@ -0,0 +1,130 @@
+package ru.practicum.shareit.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает прежний self-join поиска последнего/следующего бронирования с однопроходной агрегацией
+ * на одной вещи с большим числом подтверждённых бронирований.
+ * Запуск: {@code mvn -Pbenchmark -DskipTests test -Dbenchmark.include=BookingDatesBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BookingDatesBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:booking-dates;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;" +
+            "DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE";
+
+    private static final String SELF_JOIN_QUERY = "select b1.item_id, max(b1.end_date), min(b2.start_date) " +
+            "from bookings b1 join bookings b2 on b1.item_id = b2.item_id " +
+            "where b1.item_id = ? and b1.status = 'APPROVED' and b1.end_date <= ? " +
+            "and b2.status = 'APPROVED' and b2.start_date >= ? group by b1.item_id";
+
+    private static final String SINGLE_PASS_QUERY = "select b.item_id, " +
+            "max(case when b.end_date <= ? then b.end_date end), " +
+            "min(case when b.start_date >= ? then b.start_date end) " +
+            "from bookings b where b.item_id = ? and b.status = 'APPROVED' group by b.item_id";
+
+    @Param({"1000", "10000"})
+    private int bookingsPerItem;
+
+    private Connection connection;
+    private Timestamp now;
+    private long itemId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Flyway.configure()
+                .dataSource(URL, "shareit", "shareit")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(URL, "shareit", "shareit");
+        now = Timestamp.valueOf(LocalDateTime.now());
+        long userId = insert("insert into users (name, email) values ('owner', 'owner@benchmark.ru')");
+        itemId = insert("insert into items (name, description, available, user_id) values ('item', 'item', true, "
+                + userId + ")");
+        LocalDateTime firstStart = now.toLocalDateTime().minusHours(bookingsPerItem);
+        try (PreparedStatement statement = connection.prepareStatement("insert into bookings " +
+                "(start_date, end_date, item_id, booker_id, status) values (?, ?, ?, ?, 'APPROVED')")) {
+            for (int i = 0; i < bookingsPerItem; i++) {
+                LocalDateTime start = firstStart.plusHours(2L * i);
+                statement.setTimestamp(1, Timestamp.valueOf(start));
+                statement.setTimestamp(2, Timestamp.valueOf(start.plusHours(1)));
+                statement.setLong(3, itemId);
+                statement.setLong(4, userId);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("drop all objects")) {
+            statement.execute();
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public Timestamp selfJoin() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELF_JOIN_QUERY)) {
+            statement.setLong(1, itemId);
+            statement.setTimestamp(2, now);
+            statement.setTimestamp(3, now);
+            return readNextBooking(statement);
+        }
+    }
+
+    @Benchmark
+    public Timestamp singlePass() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SINGLE_PASS_QUERY)) {
+            statement.setTimestamp(1, now);
+            statement.setTimestamp(2, now);
+            statement.setLong(3, itemId);
+            return readNextBooking(statement);
+        }
+    }
+
+    private Timestamp readNextBooking(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getTimestamp(3) : null;
+        }
+    }
+
+    private long insert(String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+            statement.executeUpdate();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.BookingStorageDb;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemStorageDb;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Скорость вставки бронирований через JPA с JDBC-батчингом и без него (batch_size = 1).
+ * Замер идёт на PostgreSQL в Testcontainers: на встроенной H2 сетевых round trip нет и разница не видна.
+ * Результат - вставок в секунду. Нужен Docker.
+ * Запуск: {@code mvn -Pbenchmark -DskipTests test -Dbenchmark.include=BookingInsertBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingInsertBenchmark {
+
+    private static final String IMAGE = "postgres:16.1";
+    private static final int BOOKINGS = 100_000;
+    private static final int CHUNK = 1_000;
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private BookingStorageDb bookingStorageDb;
+    private Item item;
+    private User booker;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>(IMAGE).withUrlParam("reWriteBatchedInserts", "true");
+        postgres.start();
+        SpringApplication application = new SpringApplication(ShareItApp.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.docker.compose.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        entityManager = context.getBean(EntityManager.class);
+        bookingStorageDb = context.getBean(BookingStorageDb.class);
+        booker = context.getBean(UserStorageDb.class).save(new User(0, "booker@benchmark.ru", "booker"));
+        User owner = context.getBean(UserStorageDb.class).save(new User(0, "owner@benchmark.ru", "owner"));
+        item = context.getBean(ItemStorageDb.class).save(new Item(0, "item", "item", true, owner));
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteBookings() {
+        context.getBean(JdbcTemplate.class).update("delete from bookings");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOOKINGS)
+    public void insertBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int offset = 0; offset < BOOKINGS; offset += CHUNK) {
+            int chunkStart = offset;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Booking> bookings = new ArrayList<>(CHUNK);
+                for (int i = chunkStart; i < chunkStart + CHUNK; i++) {
+                    bookings.add(new Booking(0, start.plusHours(i), start.plusHours(i).plusMinutes(30), item, booker,
+                            BookingStatus.WAITING));
+                }
+                bookingStorageDb.saveAll(bookings);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+}
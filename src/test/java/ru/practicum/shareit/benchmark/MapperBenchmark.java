@@ -0,0 +1,102 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.dto.CommentMapper;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemDateDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг списка вещей владельца с датами бронирований и отзывами, а также списков бронирований и отзывов в DTO.
+ * Данные строятся в памяти, база не участвует.
+ * Запуск: {@code mvn -Pbenchmark -DskipTests test -Dbenchmark.include=MapperBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int BOOKINGS_PER_ITEM = 10;
+    private static final int COMMENTS_PER_ITEM = 5;
+
+    @Param({"10", "1000"})
+    private int itemsPerOwner;
+
+    private List<Item> items;
+    private List<Booking> bookings;
+    private List<Comment> comments;
+    private List<CommentDto> commentDtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1, "owner@benchmark.ru", "owner");
+        User booker = new User(2, "booker@benchmark.ru", "booker");
+        items = new ArrayList<>(itemsPerOwner);
+        bookings = new ArrayList<>(itemsPerOwner * BOOKINGS_PER_ITEM);
+        comments = new ArrayList<>(itemsPerOwner * COMMENTS_PER_ITEM);
+        for (int i = 1; i <= itemsPerOwner; i++) {
+            Item item = new Item(i, "Вещь " + i, "Описание вещи " + i, true, owner);
+            item.setLastBookingEnd(now.minusDays(1));
+            item.setNextBookingStart(now.plusDays(1));
+            items.add(item);
+            for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                LocalDateTime start = now.plusDays(2L * j - BOOKINGS_PER_ITEM);
+                bookings.add(new Booking(bookings.size() + 1, start, start.plusDays(1), item, booker,
+                        BookingStatus.APPROVED));
+            }
+            for (int j = 0; j < COMMENTS_PER_ITEM; j++) {
+                Comment comment = new Comment();
+                comment.setId(comments.size() + 1);
+                comment.setCommentText("Отзыв " + j + " о вещи " + i);
+                comment.setItem(item);
+                comment.setCommentAuthor(booker);
+                comment.setCreationTime(now.minusHours(j));
+                comments.add(comment);
+            }
+        }
+        commentDtos = CommentMapper.mapToCommentDtos(comments);
+    }
+
+    @Benchmark
+    public List<ItemDateDto> mapOwnerItems() {
+        return ItemMapper.mapToItemDateDto(items, commentDtos);
+    }
+
+    @Benchmark
+    public List<BookingDto> mapBookings() {
+        return BookingMapper.mapBookingsToBookingDtos(bookings);
+    }
+
+    @Benchmark
+    public List<CommentDto> mapComments() {
+        return CommentMapper.mapToCommentDtos(comments);
+    }
+
+}
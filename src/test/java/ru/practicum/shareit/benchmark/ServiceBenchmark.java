@@ -0,0 +1,150 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingRequestState;
+import ru.practicum.shareit.item.ItemBookingDatesUpdater;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDateDto;
+import ru.practicum.shareit.pagination.KeysetPage;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Полные вызовы {@link ItemService} и {@link BookingService} на H2 с объёмом данных, близким к рабочему:
+ * 500 владельцев по 10 вещей, 1500 арендаторов, по 20 бронирований и 4 отзыва на вещь.
+ * Каждый вызов берёт следующего владельца, вещь или арендатора, чтобы не читать одно и то же.
+ * Запуск: {@code mvn -Pbenchmark -DskipTests test -Dbenchmark.include=ServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:services;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;" +
+            "DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    private static final int OWNERS = 500;
+    private static final int BOOKERS = 1500;
+    private static final int ITEMS_PER_OWNER = 10;
+    private static final int ITEMS = OWNERS * ITEMS_PER_OWNER;
+    private static final int BOOKINGS_PER_ITEM = 20;
+    private static final int COMMENTS_PER_ITEM = 4;
+    private static final int PAGE_SIZE = 20;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplication application = new SpringApplication(ShareItApp.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.profiles.active=test",
+                "--spring.datasource.url=" + URL,
+                "--spring.docker.compose.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        seed(context.getBean(JdbcTemplate.class));
+        ItemBookingDatesUpdater bookingDatesUpdater = context.getBean(ItemBookingDatesUpdater.class);
+        for (int from = 1; from <= ITEMS; from += 1000) {
+            bookingDatesUpdater.refresh(IntStream.range(from, Math.min(from + 1000, ITEMS + 1)).boxed().toList());
+        }
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDateDto> getAllUsersItems() {
+        return itemService.getAllUsersItems(nextOwnerId());
+    }
+
+    @Benchmark
+    public ItemDateDto getItemById() {
+        return itemService.getItemById(1 + counter++ % ITEMS);
+    }
+
+    @Benchmark
+    public KeysetPage<BookingDto> findAllBookingsOfOwner() {
+        return bookingService.findAllBookingsOfOwner(nextOwnerId(), BookingRequestState.ALL, 0, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public KeysetPage<BookingDto> findAllUsersBookings() {
+        return bookingService.findAllUsersBookings(OWNERS + 1 + counter++ % BOOKERS, BookingRequestState.ALL, 0,
+                PAGE_SIZE, null);
+    }
+
+    private int nextOwnerId() {
+        return 1 + counter++ % OWNERS;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> users = new ArrayList<>();
+        for (int id = 1; id <= OWNERS + BOOKERS; id++) {
+            users.add(new Object[]{id, "user" + id, "user" + id + "@benchmark.ru"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (id, name, email) values (?, ?, ?)", users);
+
+        List<Object[]> items = new ArrayList<>();
+        for (int id = 1; id <= ITEMS; id++) {
+            items.add(new Object[]{id, "Вещь " + id, "Описание вещи " + id, true, 1 + (id - 1) / ITEMS_PER_OWNER});
+        }
+        jdbcTemplate.batchUpdate("insert into items (id, name, description, available, user_id) values (?, ?, ?, ?, ?)",
+                items);
+
+        LocalDateTime firstStart = LocalDateTime.now().minusDays(BOOKINGS_PER_ITEM);
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        for (int itemId = 1; itemId <= ITEMS; itemId++) {
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                LocalDateTime start = firstStart.plusDays(2L * i);
+                int bookerId = OWNERS + 1 + (itemId * BOOKINGS_PER_ITEM + i) % BOOKERS;
+                bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)), itemId,
+                        bookerId, i % 5 == 4 ? "WAITING" : "APPROVED"});
+                if (i < COMMENTS_PER_ITEM) {
+                    comments.add(new Object[]{"Отзыв " + i + " о вещи " + itemId, itemId, bookerId,
+                            Timestamp.valueOf(start.plusDays(1))});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.batchUpdate("insert into comments (text, item_id, author_id, created) values (?, ?, ?, ?)",
+                comments);
+    }
+
+}
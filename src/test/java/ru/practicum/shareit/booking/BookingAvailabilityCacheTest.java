@@ -0,0 +1,98 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingInterval;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.outbox.CacheInvalidationOutbox;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingAvailabilityCacheTest {
+
+    private static final int ITEM_ID = 7;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 10, 0);
+    private static final LocalDateTime END = START.plusDays(1);
+
+    private final BookingStorageDb bookingStorageDb = mock(BookingStorageDb.class);
+    private final BookingAvailabilityCache cache =
+            new BookingAvailabilityCache(bookingStorageDb, mock(CacheInvalidationOutbox.class));
+    private final Booking approved = approvedBooking();
+    private final List<BookingInterval> afterApproval =
+            List.of(new BookingInterval(ITEM_ID, approved.getId(), START, END));
+
+    @Test
+    void approvalCommittedDuringLoadIsNotLostFromTimeline() {
+        // подтверждение коммитится после запроса к базе, но до записи загруженного списка в кэш
+        when(bookingStorageDb.findApprovedIntervalsByItemId(ITEM_ID)).then(invocation -> {
+            cache.onStatusChanged(approved);
+            return List.of();
+        }).thenReturn(afterApproval);
+
+        assertThat(cache.hasOverlap(ITEM_ID, START, END)).isFalse();
+        assertThat(cache.hasOverlap(ITEM_ID, START, END)).isTrue();
+        assertThat(cache.hasOverlap(ITEM_ID, START, END)).isTrue();
+        verify(bookingStorageDb, times(2)).findApprovedIntervalsByItemId(ITEM_ID);
+    }
+
+    @Test
+    void approvalCommittedDuringPreloadIsNotLostFromTimeline() {
+        when(bookingStorageDb.findApprovedIntervalsByItemIds(List.of(ITEM_ID))).then(invocation -> {
+            cache.onStatusChanged(approved);
+            return List.of();
+        });
+        when(bookingStorageDb.findApprovedIntervalsByItemId(ITEM_ID)).thenReturn(afterApproval);
+
+        cache.preload(List.of(ITEM_ID));
+
+        assertThat(cache.hasOverlap(ITEM_ID, START, END)).isTrue();
+    }
+
+    @Test
+    void invalidationDuringLoadDropsLoadedTimeline() {
+        when(bookingStorageDb.findApprovedIntervalsByItemId(ITEM_ID)).then(invocation -> {
+            cache.invalidate(ITEM_ID);
+            return List.of();
+        }).then(invocation -> {
+            cache.invalidateAll();
+            return List.of();
+        }).thenReturn(afterApproval);
+
+        cache.hasOverlap(ITEM_ID, START, END);
+        cache.hasOverlap(ITEM_ID, START, END);
+
+        assertThat(cache.hasOverlap(ITEM_ID, START, END)).isTrue();
+    }
+
+    @Test
+    void statusChangeUpdatesCachedTimeline() {
+        when(bookingStorageDb.findApprovedIntervalsByItemId(ITEM_ID)).thenReturn(List.of());
+        assertThat(cache.hasOverlap(ITEM_ID, START, END)).isFalse();
+
+        cache.onStatusChanged(approved);
+        assertThat(cache.findBusyIntervals(ITEM_ID, START.minusDays(1), END.plusDays(1)))
+                .extracting(BookingInterval::getBookingId)
+                .containsExactly(approved.getId());
+
+        approved.setBookingStatus(BookingStatus.REJECTED);
+        cache.onStatusChanged(approved);
+        assertThat(cache.hasOverlap(ITEM_ID, START, END)).isFalse();
+        verify(bookingStorageDb, times(1)).findApprovedIntervalsByItemId(ITEM_ID);
+    }
+
+    private static Booking approvedBooking() {
+        User owner = new User(1, "owner@shareit.ru", "owner");
+        Item item = new Item(ITEM_ID, "Дрель", "Простая дрель", true, owner);
+        return new Booking(42, START, END, item, new User(2, "booker@shareit.ru", "booker"), BookingStatus.APPROVED);
+    }
+
+}
@@ -0,0 +1,184 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemStorageDb;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingBatchTest {
+
+    private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserStorageDb userStorageDb;
+    @Autowired
+    private ItemStorageDb itemStorageDb;
+    @Autowired
+    private BookingStorageDb bookingStorageDb;
+    @Autowired
+    private BookingService bookingService;
+
+    private int ownerId;
+    private int bookerId;
+    private int itemId;
+    private int unavailableItemId;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "owner"));
+        User booker = userStorageDb.save(new User(0, UUID.randomUUID() + "@booker.ru", "booker"));
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+        itemId = itemStorageDb.save(new Item(0, "Дрель", "Простая дрель", true, owner)).getId();
+        unavailableItemId = itemStorageDb.save(new Item(0, "Пила", "Сломана", false, owner)).getId();
+        start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(10);
+    }
+
+    @Test
+    void createBatchReportsEachEntry() throws Exception {
+        bookingService.updateStatus(ownerId, book(start, start.plusDays(1)), true);
+
+        createBatch("[" + entry(itemId, start.plusDays(5), start.plusDays(6)) + ","
+                + entry(Integer.MAX_VALUE, start.plusDays(5), start.plusDays(6)) + ","
+                + entry(unavailableItemId, start.plusDays(5), start.plusDays(6)) + ","
+                + entry(itemId, start.plusHours(12), start.plusDays(2)) + ","
+                + entry(itemId, start.plusDays(7), start.plusDays(7)) + "]")
+                .andExpect(jsonPath("$[*].index").value(contains(0, 1, 2, 3, 4)))
+                .andExpect(jsonPath("$[*].status").value(contains(200, 404, 400, 400, 400)))
+                .andExpect(jsonPath("$[0].booking.status").value("WAITING"))
+                .andExpect(jsonPath("$[0].booking.item.id").value(itemId))
+                .andExpect(jsonPath("$[0].error").value(nullValue()))
+                .andExpect(jsonPath("$[1].booking").value(nullValue()))
+                .andExpect(jsonPath("$[1].error").value(endsWith("Предмет не найден")))
+                .andExpect(jsonPath("$[2].error").value("Предмет не доступен для бронирования"))
+                .andExpect(jsonPath("$[3].error").value("Пересекаются даты бронирования"));
+    }
+
+    @Test
+    void createBatchAcceptsOverlappingWaitingEntriesLikeSingleCreate() throws Exception {
+        createBatch("[" + entry(itemId, start, start.plusDays(2)) + ","
+                + entry(itemId, start.plusDays(1), start.plusDays(3)) + "]")
+                .andExpect(jsonPath("$[*].status").value(contains(200, 200)))
+                .andExpect(jsonPath("$[*].booking.status").value(contains("WAITING", "WAITING")));
+    }
+
+    @Test
+    void updateStatusBatchRejectsOverlappingApprovalsInsideBatch() throws Exception {
+        int first = book(start, start.plusDays(2));
+        int overlapping = book(start.plusDays(1), start.plusDays(3));
+        int free = book(start.plusDays(5), start.plusDays(6));
+        int rejected = book(start.plusDays(8), start.plusDays(9));
+
+        updateBatch("[" + update(first, true) + "," + update(overlapping, true) + "," + update(free, true) + ","
+                + update(rejected, false) + "," + update(first, true) + "," + update(Integer.MAX_VALUE, true) + "]")
+                .andExpect(jsonPath("$[*].status").value(contains(200, 400, 200, 200, 400, 404)))
+                .andExpect(jsonPath("$[1].error").value("Пересекаются даты бронирования внутри пакета"))
+                .andExpect(jsonPath("$[3].booking.status").value("REJECTED"))
+                .andExpect(jsonPath("$[4].error").value("Бронирование встречается в пакете несколько раз"));
+
+        assertStatus(first, BookingStatus.APPROVED);
+        assertStatus(overlapping, BookingStatus.WAITING);
+        assertStatus(free, BookingStatus.APPROVED);
+        assertStatus(rejected, BookingStatus.REJECTED);
+    }
+
+    @Test
+    void updateStatusBatchIsAllowedOnlyForItemOwner() throws Exception {
+        int booking = book(start, start.plusDays(1));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header(REQUEST_HEADER, bookerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + update(booking, true) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(400))
+                .andExpect(jsonPath("$[0].error").value("Недостаточно прав для обновления бронирования"));
+        assertStatus(booking, BookingStatus.WAITING);
+    }
+
+    @Test
+    void batchesAreLimitedToHundredEntries() throws Exception {
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            entries.add(entry(itemId, start.plusDays(i), start.plusDays(i).plusHours(1)));
+        }
+        mockMvc.perform(post("/bookings/batch")
+                        .header(REQUEST_HEADER, bookerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + String.join(",", entries.subList(0, 101)) + "]"))
+                .andExpect(status().isBadRequest());
+        createBatch("[" + String.join(",", entries.subList(0, 100)) + "]")
+                .andExpect(jsonPath("$.length()").value(100));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header(REQUEST_HEADER, ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private int book(LocalDateTime from, LocalDateTime to) {
+        return bookingService.create(bookerId, new BookingCreateDto(0, from, to, itemId, null)).getId();
+    }
+
+    private ResultActions createBatch(String body) throws Exception {
+        return mockMvc.perform(post("/bookings/batch")
+                        .header(REQUEST_HEADER, bookerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions updateBatch(String body) throws Exception {
+        return mockMvc.perform(patch("/bookings/batch")
+                        .header(REQUEST_HEADER, ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+    }
+
+    private void assertStatus(int bookingId, BookingStatus status) {
+        Booking booking = bookingStorageDb.findById(bookingId).orElseThrow();
+        assertThat(booking.getBookingStatus()).isEqualTo(status);
+    }
+
+    private static String entry(int itemId, LocalDateTime from, LocalDateTime to) {
+        return "{\"itemId\":" + itemId + ",\"start\":\"" + from + "\",\"end\":\"" + to + "\"}";
+    }
+
+    private static String update(int bookingId, boolean approved) {
+        return "{\"bookingId\":" + bookingId + ",\"approved\":" + approved + "}";
+    }
+
+}
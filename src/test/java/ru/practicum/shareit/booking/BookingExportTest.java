@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemStorageDb;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.User;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingExportTest {
+
+    private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+    private static final int BOOKINGS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserStorageDb userStorageDb;
+    @Autowired
+    private ItemStorageDb itemStorageDb;
+    @Autowired
+    private BookingStorageDb bookingStorageDb;
+
+    private int ownerId;
+    private final int[] bookingIds = new int[BOOKINGS];
+
+    @BeforeEach
+    void setUp() {
+        User owner = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "owner"));
+        User booker = userStorageDb.save(new User(0, UUID.randomUUID() + "@booker.ru", "Иванов, \"Иван\""));
+        ownerId = owner.getId();
+        Item item = itemStorageDb.save(new Item(0, "Дрель", "Простая дрель", true, owner));
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusDays(10);
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookingIds[BOOKINGS - 1 - i] = bookingStorageDb.save(new Booking(0, start.plusDays(2L * i),
+                    start.plusDays(2L * i + 1), item, booker, BookingStatus.APPROVED)).getId();
+        }
+    }
+
+    @Test
+    void exportsOwnerHistoryAsNdjsonNewestFirst() throws Exception {
+        String[] lines = export("NDJSON", MediaType.APPLICATION_NDJSON).split("\n");
+
+        int[] ids = new int[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            ids[i] = objectMapper.readTree(lines[i]).get("id").asInt();
+        }
+        assertArrayEquals(bookingIds, ids);
+    }
+
+    @Test
+    void exportsOwnerHistoryAsCsv() throws Exception {
+        String[] lines = export("CSV", MediaType.parseMediaType("text/csv;charset=UTF-8")).split("\n");
+
+        assertEquals(BOOKINGS + 1, lines.length);
+        assertEquals("id,start,end,status,item_id,item_name,booker_id,booker_name", lines[0]);
+        assertEquals(bookingIds[0] + ",", lines[1].substring(0, lines[1].indexOf(',') + 1));
+        assertEquals(",\"Иванов, \"\"Иван\"\"\"", lines[1].substring(lines[1].lastIndexOf(",\"Иванов")));
+    }
+
+    @Test
+    void unknownOwnerIsRejectedBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/bookings/owner/export").header(REQUEST_HEADER, Integer.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private String export(String format, MediaType mediaType) throws Exception {
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export")
+                        .header(REQUEST_HEADER, ownerId)
+                        .param("format", format))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(mediaType))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+}
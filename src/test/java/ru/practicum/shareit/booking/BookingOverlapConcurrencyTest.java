@@ -0,0 +1,119 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "shareit.search.engine=postgres"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class BookingOverlapConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16.1");
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void onlyOneOfConcurrentOverlappingApprovalsSucceeds() throws Exception {
+        UserDto owner = userService.createUser(new UserDto(0, "owner@shareit.ru", "owner"));
+        UserDto booker = userService.createUser(new UserDto(0, "booker@shareit.ru", "booker"));
+        ItemDto item = itemService.create(owner.getId(), new ItemDto(0, "Дрель", "Простая дрель", "true", null, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        List<Integer> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookingIds.add(bookingService.create(booker.getId(),
+                    new BookingCreateDto(0, start.plusHours(i), start.plusDays(2), item.getId(), null)).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Boolean>> approvals = new ArrayList<>();
+        for (int bookingId : bookingIds) {
+            approvals.add(executor.submit(() -> {
+                startSignal.await();
+                try {
+                    bookingService.updateStatus(owner.getId(), bookingId, true);
+                    return true;
+                } catch (ValidationException e) {
+                    return false;
+                }
+            }));
+        }
+        startSignal.countDown();
+
+        int approved = 0;
+        for (Future<Boolean> approval : approvals) {
+            if (approval.get()) {
+                approved++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(approved).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from bookings where item_id = ? and status = 'APPROVED'",
+                Integer.class, item.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void constraintConflictInBatchFailsOnlyItsOwnEntry() {
+        UserDto owner = userService.createUser(new UserDto(0, "batch-owner@shareit.ru", "owner"));
+        UserDto booker = userService.createUser(new UserDto(0, "batch-booker@shareit.ru", "booker"));
+        ItemDto item = itemService.create(owner.getId(), new ItemDto(0, "Палатка", "Палатка на двоих", "true", null, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        int conflicting = bookingService.create(booker.getId(),
+                new BookingCreateDto(0, start, start.plusDays(1), item.getId(), null)).getId();
+        int free = bookingService.create(booker.getId(),
+                new BookingCreateDto(0, start.plusDays(5), start.plusDays(6), item.getId(), null)).getId();
+        // одобренное бронирование в обход кэша занятости: проверка по кэшу его не увидит, сработает только ограничение
+        jdbcTemplate.update("insert into bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                        "values (nextval('bookings_seq'), ?, ?, ?, ?, 'APPROVED')",
+                start.minusHours(1), start.plusHours(1), item.getId(), booker.getId());
+
+        List<BookingBatchResultDto> results = bookingService.updateStatusBatch(owner.getId(), List.of(
+                new BookingStatusUpdateDto(conflicting, true),
+                new BookingStatusUpdateDto(free, true)));
+
+        assertThat(results).extracting(BookingBatchResultDto::getStatus).containsExactly(400, 200);
+        assertThat(jdbcTemplate.queryForObject("select status from bookings where id = ?", String.class, free))
+                .isEqualTo("APPROVED");
+    }
+
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.booking;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.item.ItemStorageDb;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetPage;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingPaginationTest {
+
+    private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+    private static final int BOOKINGS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserStorageDb userStorageDb;
+    @Autowired
+    private ItemStorageDb itemStorageDb;
+    @Autowired
+    private BookingService bookingService;
+
+    private int ownerId;
+    private int bookerId;
+    // от поздних к ранним - в том порядке, в каком их отдаёт API
+    private final List<Integer> newestFirst = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User owner = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "owner"));
+        User booker = userStorageDb.save(new User(0, UUID.randomUUID() + "@booker.ru", "booker"));
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+        int itemId = itemStorageDb.save(new Item(0, "Дрель", "Простая дрель", true, owner)).getId();
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            newestFirst.add(0, bookingService.create(bookerId, new BookingCreateDto(0, start.plusHours(i),
+                    start.plusHours(i).plusMinutes(30), itemId, null)).getId());
+        }
+    }
+
+    @Test
+    void firstPageHasTwentyBookingsByDefault() throws Exception {
+        for (String path : List.of("/bookings", "/bookings/owner")) {
+            mockMvc.perform(get(path).header(REQUEST_HEADER, userFor(path)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(20)))
+                    .andExpect(jsonPath("$[*].id").value(contains(newestFirst.subList(0, 20).toArray())))
+                    .andExpect(header().exists(KeysetPage.NEXT_CURSOR_HEADER));
+        }
+    }
+
+    @Test
+    void cursorContinuesWhereFirstPageEnded() throws Exception {
+        for (String path : List.of("/bookings", "/bookings/owner")) {
+            List<Integer> seen = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                var request = get(path).param("size", "10").header(REQUEST_HEADER, userFor(path));
+                if (cursor != null) {
+                    request.param("cursor", cursor);
+                }
+                MvcResult result = mockMvc.perform(request)
+                        .andExpect(status().isOk())
+                        .andReturn();
+                seen.addAll(JsonPath.read(result.getResponse().getContentAsString(), "$[*].id"));
+                cursor = result.getResponse().getHeader(KeysetPage.NEXT_CURSOR_HEADER);
+                pages++;
+            } while (cursor != null);
+
+            assertThat(pages).isEqualTo(3);
+            assertThat(seen).isEqualTo(newestFirst);
+        }
+    }
+
+    @Test
+    void offsetPagingStartsExactlyAtFrom() throws Exception {
+        for (String path : List.of("/bookings", "/bookings/owner")) {
+            mockMvc.perform(get(path).param("from", "3").param("size", "2").header(REQUEST_HEADER, userFor(path)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].id").value(contains(newestFirst.get(3), newestFirst.get(4))));
+            mockMvc.perform(get(path).param("from", "24").param("size", "10").header(REQUEST_HEADER, userFor(path)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].id").value(contains(newestFirst.get(24))))
+                    .andExpect(header().doesNotExist(KeysetPage.NEXT_CURSOR_HEADER));
+        }
+    }
+
+    @Test
+    void pageSizeIsBounded() throws Exception {
+        for (String path : List.of("/bookings", "/bookings/owner")) {
+            mockMvc.perform(get(path).param("size", "100").header(REQUEST_HEADER, userFor(path)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(BOOKINGS)))
+                    .andExpect(header().doesNotExist(KeysetPage.NEXT_CURSOR_HEADER));
+            mockMvc.perform(get(path).param("size", "101").header(REQUEST_HEADER, userFor(path)))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get(path).param("size", "0").header(REQUEST_HEADER, userFor(path)))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get(path).param("from", "-1").header(REQUEST_HEADER, userFor(path)))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    private int userFor(String path) {
+        return path.endsWith("/owner") ? ownerId : bookerId;
+    }
+
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.BookingInterval;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemTimelineTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void overlapUsesLongestEarlierInterval() {
+        // длинное первое бронирование перекрывает окно после коротких, хотя они начинаются позже
+        ItemTimeline timeline = new ItemTimeline(List.of(
+                interval(3, 5, 6),
+                interval(1, 0, 30),
+                interval(2, 2, 3)));
+
+        assertThat(timeline.overlaps(day(20), day(21))).isTrue();
+        assertThat(timeline.overlaps(day(31), day(32))).isFalse();
+        assertThat(new ItemTimeline(List.of()).overlaps(day(0), day(1))).isFalse();
+    }
+
+    @Test
+    void bordersTouchingCountAsOverlap() {
+        ItemTimeline timeline = new ItemTimeline(List.of(interval(1, 10, 12)));
+
+        assertThat(timeline.overlaps(day(12), day(13))).isTrue();
+        assertThat(timeline.overlaps(day(8), day(10))).isTrue();
+        assertThat(timeline.overlaps(day(8), day(9))).isFalse();
+    }
+
+    @Test
+    void findsOverlappingIntervalsInStartOrder() {
+        ItemTimeline timeline = new ItemTimeline(List.of(
+                interval(4, 20, 22),
+                interval(1, 0, 30),
+                interval(2, 2, 3),
+                interval(3, 5, 6)));
+
+        assertThat(timeline.findOverlapping(day(4), day(21)))
+                .extracting(BookingInterval::getBookingId)
+                .containsExactly(1, 3, 4);
+    }
+
+    @Test
+    void withReplacesSameBookingAndWithoutRemovesIt() {
+        ItemTimeline timeline = new ItemTimeline(List.of(interval(1, 0, 2)));
+
+        ItemTimeline moved = timeline.with(interval(1, 10, 12));
+        assertThat(moved.overlaps(day(0), day(1))).isFalse();
+        assertThat(moved.overlaps(day(11), day(11))).isTrue();
+
+        ItemTimeline empty = moved.without(1);
+        assertThat(empty.findOverlapping(day(0), day(100))).isEmpty();
+        assertThat(empty.without(1)).isSameAs(empty);
+    }
+
+    private static BookingInterval interval(int bookingId, int startDay, int endDay) {
+        return new BookingInterval(1, bookingId, day(startDay), day(endDay));
+    }
+
+    private static LocalDateTime day(int day) {
+        return BASE.plusDays(day);
+    }
+
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.UpdateUser;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class EntityCacheTest {
+
+    @Autowired
+    private UserStorageDb userStorageDb;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void readerCommittingAfterUpdateDoesNotCacheOldVersion() throws Exception {
+        int userId = userStorageDb.save(new User(0, UUID.randomUUID() + "@user.ru", "old")).getId();
+        Cache users = cacheManager.getCache(CacheConfig.USERS);
+
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> reader = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    String name = userStorageDb.findCachedById(userId).orElseThrow().getName();
+                    loaded.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return name;
+                }));
+        assertThat(loaded.await(5, TimeUnit.SECONDS)).isTrue();
+
+        userService.updateUser(userId, new UpdateUser(null, "new"));
+        release.countDown();
+
+        assertThat(reader.get(10, TimeUnit.SECONDS)).isEqualTo("old");
+        assertThat(users.get(userId)).isNull();
+        assertThat(userStorageDb.findCachedById(userId).orElseThrow().getName()).isEqualTo("new");
+    }
+
+    @Test
+    void cachedUserIsNotSharedBetweenReaders() {
+        int userId = userStorageDb.save(new User(0, UUID.randomUUID() + "@user.ru", "user")).getId();
+        userStorageDb.findCachedById(userId);
+
+        User first = userStorageDb.findCachedById(userId).orElseThrow();
+        first.setName("changed by reader");
+
+        assertThat(userStorageDb.findCachedById(userId).orElseThrow().getName()).isEqualTo("user");
+    }
+
+    @Test
+    void cacheMetricsAreStillPublished() {
+        assertThat(meterRegistry.find("cache.gets").tag("cache", CacheConfig.USERS).meters()).isNotEmpty();
+        assertThat(meterRegistry.find("cache.gets").tag("cache", CacheConfig.ITEMS).meters()).isNotEmpty();
+    }
+
+}
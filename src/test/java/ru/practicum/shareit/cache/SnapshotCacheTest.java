@@ -0,0 +1,90 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotCacheTest {
+
+    private final SnapshotCache cache = new SnapshotCache(new CaffeineCache(CacheConfig.USERS,
+            Caffeine.newBuilder().build(), false), user -> EntitySnapshots.ofUser((User) user));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void loadCommittedAfterEvictIsNotCached() {
+        // читатель промахнулся и загрузил старую версию, запись в кэш ждёт фиксации его транзакции
+        List<TransactionSynchronization> reader = inTransaction(() -> {
+            assertThat(cache.get(1)).isNull();
+            cache.put(1, new User(1, "old@user.ru", "old"));
+        });
+
+        // писатель зафиксировался и сбросил ключ раньше читателя
+        cache.evict(1);
+
+        reader.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cache.get(1)).isNull();
+    }
+
+    @Test
+    void loadIsCachedOnlyAfterCommit() {
+        List<TransactionSynchronization> reader = inTransaction(() -> {
+            assertThat(cache.get(1)).isNull();
+            cache.put(1, new User(1, "user@user.ru", "user"));
+        });
+        assertThat(cache.get(1)).isNull();
+
+        reader.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cache.get(1, User.class).getName()).isEqualTo("user");
+    }
+
+    @Test
+    void evictBeforeLoadDoesNotBlockLaterPut() {
+        cache.evict(1);
+        assertThat(cache.get(1)).isNull();
+        cache.put(1, new User(1, "user@user.ru", "user"));
+
+        assertThat(cache.get(1)).isNotNull();
+    }
+
+    @Test
+    void readersGetTheirOwnCopies() {
+        User loaded = new User(1, "user@user.ru", "user");
+        assertThat(cache.get(1)).isNull();
+        cache.put(1, loaded);
+
+        loaded.setName("changed by loader");
+        User first = cache.get(1, User.class);
+        first.setName("changed by reader");
+        User second = cache.get(1, User.class);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("user");
+    }
+
+    private static List<TransactionSynchronization> inTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.datasource;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.User;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "shareit.datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    @Autowired
+    private UserStorageDb userStorageDb;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "shareit", "shareit")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void readOnlyRequestsGoToReplicaAndWritesToPrimary() throws Exception {
+        new JdbcTemplate(replicaDataSource)
+                .update("insert into users (id, name, email) values (1000, 'replica', 'replica@shareit.ru')");
+
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"primary\",\"email\":\"primary@shareit.ru\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].email", hasItem("replica@shareit.ru")))
+                .andExpect(jsonPath("$[*].email", not(hasItem("primary@shareit.ru"))));
+    }
+
+    @Test
+    void replicaReadsDoNotFillSharedCaches() throws Exception {
+        new JdbcTemplate(primaryDataSource)
+                .update("insert into users (id, name, email) values (2000, 'fresh', 'fresh@shareit.ru')");
+        new JdbcTemplate(replicaDataSource)
+                .update("insert into users (id, name, email) values (2000, 'stale', 'stale@shareit.ru')");
+
+        mockMvc.perform(get("/users/{userId}", 2000))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("stale"));
+
+        assertThat(entityManagerFactory.getCache().contains(User.class, 2000)).isFalse();
+        User user = new TransactionTemplate(transactionManager)
+                .execute(status -> userStorageDb.findCachedById(2000).orElseThrow());
+        assertThat(user.getName()).isEqualTo("fresh");
+    }
+
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.diagnostics;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Проверка бюджета SQL-запросов эндпоинта по заголовку {@link SqlStatsResponseAdvice#STATEMENTS_HEADER}.
+ * Тест должен включить заголовки свойством {@code shareit.diagnostics.sql.headers=true}.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static ResultMatcher atMost(int statements) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatsResponseAdvice.STATEMENTS_HEADER);
+            assertNotNull(header, "Нет заголовка " + SqlStatsResponseAdvice.STATEMENTS_HEADER
+                    + ", включите shareit.diagnostics.sql.headers");
+            int actual = Integer.parseInt(header);
+            if (actual > statements) {
+                throw new AssertionError("Превышен бюджет SQL-запросов для " + result.getRequest().getMethod() + " "
+                        + result.getRequest().getRequestURI() + ": " + actual + " > " + statements);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.diagnostics;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingStorageDb;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemStorageDb;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.diagnostics.sql.headers=true")
+@AutoConfigureMockMvc
+class QueryBudgetTest {
+
+    private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+    private static final int ITEMS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserStorageDb userStorageDb;
+    @Autowired
+    private ItemStorageDb itemStorageDb;
+    @Autowired
+    private BookingStorageDb bookingStorageDb;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private int ownerId;
+    private int bookerId;
+    private int itemId;
+    private int bookingId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        User owner = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "owner"));
+        ownerId = owner.getId();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEMS; i++) {
+            User booker = userStorageDb.save(new User(0, UUID.randomUUID() + "@booker.ru", "booker " + i));
+            bookerId = booker.getId();
+            Item item = itemStorageDb.save(new Item(0, "Дрель " + i, "Простая дрель", true, owner));
+            itemId = item.getId();
+            bookingId = bookingStorageDb.save(new Booking(0, now.minusDays(2), now.minusDays(1), item, booker,
+                    BookingStatus.APPROVED)).getId();
+            mockMvc.perform(post("/items/{itemId}/comment", itemId)
+                            .header(REQUEST_HEADER, bookerId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"text\":\"Отличная дрель\"}"))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void readEndpointsStayWithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/items").header(REQUEST_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(2));
+        mockMvc.perform(get("/items/{itemId}", itemId).header(REQUEST_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(1));
+        mockMvc.perform(get("/bookings").header(REQUEST_HEADER, bookerId))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(1));
+        mockMvc.perform(get("/bookings/owner").header(REQUEST_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(2));
+    }
+
+    @Test
+    void coldCacheReadsLoadAssociationsWithoutNPlusOne() throws Exception {
+        expectColdBudget("/items", ownerId, 2);
+        expectColdBudget("/items/" + itemId, ownerId, 2);
+        expectColdBudget("/items/search?text=дрель", ownerId, 1);
+        expectColdBudget("/bookings", bookerId, 2);
+        expectColdBudget("/bookings/owner", ownerId, 2);
+        expectColdBudget("/bookings/" + bookingId, bookerId, 1);
+    }
+
+    @Test
+    void exceedingBudgetFailsTheTest() {
+        assertThrows(AssertionError.class, () -> mockMvc.perform(get("/items").header(REQUEST_HEADER, ownerId))
+                .andExpect(QueryBudget.atMost(0)));
+    }
+
+    private void expectColdBudget(String url, int userId, int statements) throws Exception {
+        evictCaches();
+        mockMvc.perform(get(url).header(REQUEST_HEADER, userId))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(statements));
+    }
+
+    private void evictCaches() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.diagnostics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void reportsThreadPinnedInsideSynchronizedBlock() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(10), 12);
+        monitor.start();
+        try {
+            Thread.ofVirtual().start(this::sleepWhileHoldingLock).join();
+
+            Timer pinned = null;
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (pinned == null && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+                pinned = meterRegistry.find(VirtualThreadPinningMonitor.PINNED_METER)
+                        .tag("source", VirtualThreadPinningMonitorTest.class.getName() + ".sleepWhileHoldingLock")
+                        .timer();
+            }
+            assertNotNull(pinned);
+            assertTrue(pinned.count() >= 1);
+        } finally {
+            monitor.stop();
+        }
+    }
+
+    private void sleepWhileHoldingLock() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemAvailabilityTest {
+
+    private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserStorageDb userStorageDb;
+    @Autowired
+    private ItemStorageDb itemStorageDb;
+    @Autowired
+    private BookingService bookingService;
+
+    private int ownerId;
+    private int bookerId;
+    private int itemId;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "owner"));
+        User booker = userStorageDb.save(new User(0, UUID.randomUUID() + "@booker.ru", "booker"));
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+        itemId = itemStorageDb.save(new Item(0, "Дрель", "Простая дрель", true, owner)).getId();
+        start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(10);
+    }
+
+    @Test
+    void approvedBookingsAreBusyUntilRejected() throws Exception {
+        int bookingId = book(start, start.plusDays(2));
+        book(start.plusDays(5), start.plusDays(6));
+
+        availability(start.minusDays(1), start.plusDays(30))
+                .andExpect(jsonPath("$.available").value(true))
+                .andExpect(jsonPath("$.busy", hasSize(0)));
+
+        setApproved(bookingId, true);
+        availability(start.minusDays(1), start.plusDays(30))
+                .andExpect(jsonPath("$.available").value(false))
+                .andExpect(jsonPath("$.busy", hasSize(1)))
+                .andExpect(jsonPath("$.busy[0].start").value(start.toString()));
+        availability(start.plusDays(3), start.plusDays(4))
+                .andExpect(jsonPath("$.available").value(true));
+
+        setApproved(bookingId, false);
+        availability(start.minusDays(1), start.plusDays(30))
+                .andExpect(jsonPath("$.busy", hasSize(0)));
+    }
+
+    private int book(LocalDateTime from, LocalDateTime to) {
+        return bookingService.create(bookerId, new BookingCreateDto(0, from, to, itemId, null)).getId();
+    }
+
+    private void setApproved(int bookingId, boolean approved) throws Exception {
+        mockMvc.perform(patch("/bookings/{bookingId}", bookingId)
+                        .header(REQUEST_HEADER, ownerId)
+                        .param("approved", String.valueOf(approved)))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions availability(LocalDateTime from, LocalDateTime to) throws Exception {
+        return mockMvc.perform(get("/items/{itemId}/availability", itemId)
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk());
+    }
+
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+
+// SKIP LOCKED поддерживает PostgreSQL; H2 молча превращает подсказку в обычный for update
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "shareit.search.engine=postgres",
+        "shareit.items.booking-dates.rollover-delay=PT1H"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class ItemBookingDatesUpdaterTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16.1");
+
+    @Autowired
+    private ItemBookingDatesUpdater itemBookingDatesUpdater;
+    @Autowired
+    private ItemStorageDb itemStorageDb;
+    @Autowired
+    private UserStorageDb userStorageDb;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void rolloverSkipsItemsLockedByOtherTransaction() throws Exception {
+        User owner = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "owner"));
+        int lockedId = itemStorageDb.save(new Item(0, "Дрель", "Занята", true, owner)).getId();
+        int freeId = itemStorageDb.save(new Item(0, "Пила", "Свободна", true, owner)).getId();
+        jdbcTemplate.update("update items set booking_dates_refresh_at = ? where id in (?, ?)",
+                LocalDateTime.now().minusMinutes(1), lockedId, freeId);
+
+        // вещь держит другая транзакция, например одобрение бронирования на соседнем узле
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    itemStorageDb.lockById(lockedId);
+                    locked.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        try {
+            assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+            long started = System.nanoTime();
+            assertThatNoException().isThrownBy(itemBookingDatesUpdater::rollover);
+            assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+        } finally {
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(refreshAtOf(freeId)).isNull();
+        assertThat(refreshAtOf(lockedId)).isNotNull();
+
+        itemBookingDatesUpdater.rollover();
+
+        assertThat(refreshAtOf(lockedId)).isNull();
+    }
+
+    private LocalDateTime refreshAtOf(int itemId) {
+        return jdbcTemplate.queryForObject("select booking_dates_refresh_at from items where id = ?",
+                LocalDateTime.class, itemId);
+    }
+
+}
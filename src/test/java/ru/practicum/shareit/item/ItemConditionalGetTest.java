@@ -0,0 +1,154 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingStorageDb;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemConditionalGetTest {
+
+    private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserStorageDb userStorageDb;
+    @Autowired
+    private ItemStorageDb itemStorageDb;
+    @Autowired
+    private BookingStorageDb bookingStorageDb;
+
+    private int ownerId;
+    private int bookerId;
+    private int itemId;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "owner"));
+        User booker = userStorageDb.save(new User(0, UUID.randomUUID() + "@booker.ru", "booker"));
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+        Item item = itemStorageDb.save(new Item(0, "Дрель", "Простая дрель", true, owner));
+        itemId = item.getId();
+        LocalDateTime now = LocalDateTime.now();
+        bookingStorageDb.save(new Booking(0, now.minusDays(2), now.minusDays(1), item, booker, BookingStatus.APPROVED));
+    }
+
+    @Test
+    void itemETagChangesWithCommentsAndUpdates() throws Exception {
+        String eTag = eTagOf("/items/" + itemId);
+        expectNotModified("/items/" + itemId, eTag);
+
+        mockMvc.perform(post("/items/{itemId}/comment", itemId)
+                        .header(REQUEST_HEADER, bookerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Отличная дрель\"}"))
+                .andExpect(status().isOk());
+        String commentedETag = eTagOf("/items/" + itemId);
+        assertNotEquals(eTag, commentedETag);
+        expectNotModified("/items/" + itemId, commentedETag);
+
+        mockMvc.perform(patch("/items/{itemId}", itemId)
+                        .header(REQUEST_HEADER, ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"Дрель с набором свёрл\"}"))
+                .andExpect(status().isOk());
+        assertNotEquals(commentedETag, eTagOf("/items/" + itemId));
+    }
+
+    @Test
+    void itemETagChangesWhenCommentAuthorIsRenamed() throws Exception {
+        mockMvc.perform(post("/items/{itemId}/comment", itemId)
+                        .header(REQUEST_HEADER, bookerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Отличная дрель\"}"))
+                .andExpect(status().isOk());
+        String eTag = eTagOf("/items/" + itemId);
+
+        mockMvc.perform(patch("/users/{userId}", bookerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"renamed booker\"}"))
+                .andExpect(status().isOk());
+        assertNotEquals(eTag, eTagOf("/items/" + itemId));
+    }
+
+    @Test
+    void concurrentUserUpdatesDoNotConflict() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String name = "owner " + i;
+            statuses.add(executor.submit(() -> {
+                startSignal.await();
+                return mockMvc.perform(patch("/users/{userId}", ownerId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"name\":\"" + name + "\"}"))
+                        .andReturn().getResponse().getStatus();
+            }));
+        }
+        startSignal.countDown();
+        for (Future<Integer> status : statuses) {
+            assertEquals(200, status.get());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    void userETagChangesWithUpdates() throws Exception {
+        String eTag = eTagOf("/users/" + ownerId);
+        expectNotModified("/users/" + ownerId, eTag);
+
+        mockMvc.perform(patch("/users/{userId}", ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"new owner\"}"))
+                .andExpect(status().isOk());
+        assertNotEquals(eTag, eTagOf("/users/" + ownerId));
+    }
+
+    private String eTagOf(String url) throws Exception {
+        String eTag = mockMvc.perform(get(url).header(REQUEST_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        return eTag;
+    }
+
+    private void expectNotModified(String url, String eTag) throws Exception {
+        mockMvc.perform(get(url).header(REQUEST_HEADER, ownerId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ItemSecondLevelCacheTest {
+
+    private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserStorageDb userStorageDb;
+    @Autowired
+    private ItemStorageDb itemStorageDb;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private int ownerId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        ownerId = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "owner")).getId();
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/items")
+                            .header(REQUEST_HEADER, ownerId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"Дрель " + i + "\",\"description\":\"Простая дрель\",\"available\":\"true\"}"))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void repeatedOwnerItemsRequestIsServedFromSecondLevelCache() throws Exception {
+        long firstCallStatements = countStatements();
+        long secondCallStatements = countStatements();
+
+        assertThat(secondCallStatements).isLessThan(firstCallStatements);
+        assertThat(statistics.getQueryCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void itemsDeletedWithOwnerLeaveSecondLevelCache() throws Exception {
+        countStatements();
+        int itemId = itemStorageDb.findIdsByOwnerUserId(ownerId).getFirst();
+        assertThat(itemStorageDb.findById(itemId)).isPresent();
+
+        mockMvc.perform(delete("/users/{userId}", ownerId))
+                .andExpect(status().isOk());
+
+        assertThat(entityManagerFactory.getCache().contains(Item.class, itemId)).isFalse();
+        assertThat(itemStorageDb.findById(itemId)).isEmpty();
+        mockMvc.perform(get("/items").header(REQUEST_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    private long countStatements() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/items").header(REQUEST_HEADER, ownerId))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+}
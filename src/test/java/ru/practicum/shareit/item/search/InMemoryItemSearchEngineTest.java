@@ -0,0 +1,115 @@
+package ru.practicum.shareit.item.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemStorageDb;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.outbox.CacheInvalidationHandler;
+import ru.practicum.shareit.outbox.CacheInvalidationMessage;
+import ru.practicum.shareit.outbox.CacheInvalidationType;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.search.engine=memory")
+@AutoConfigureMockMvc
+class InMemoryItemSearchEngineTest {
+
+    private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserStorageDb userStorageDb;
+    @Autowired
+    private ItemStorageDb itemStorageDb;
+    @Autowired
+    private CacheInvalidationHandler cacheInvalidationHandler;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void foundItemKeepsItsRequestId() throws Exception {
+        int requestorId = userStorageDb.save(new User(0, UUID.randomUUID() + "@requestor.ru", "requestor")).getId();
+        int ownerId = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "owner")).getId();
+        String request = mockMvc.perform(post("/requests")
+                        .header(REQUEST_HEADER, requestorId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"Нужен гидроперфоратор\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        int requestId = objectMapper.readTree(request).get("id").asInt();
+        mockMvc.perform(post("/items")
+                        .header(REQUEST_HEADER, ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Гидроперфоратор\",\"description\":\"Мощный\",\"available\":\"true\"," +
+                                "\"requestId\":" + requestId + "}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/items/search").param("text", "гидроперф"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Гидроперфоратор"))
+                .andExpect(jsonPath("$[0].requestId").value(requestId));
+    }
+
+    @Test
+    void foundItemShowsOwnersCurrentData() throws Exception {
+        User owner = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "owner"));
+        mockMvc.perform(post("/items")
+                        .header(REQUEST_HEADER, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Виброплита\",\"description\":\"Для трамбовки\",\"available\":\"true\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/users/{userId}", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"renamed owner\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/items/search").param("text", "виброплит"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ownerUser.name").value("renamed owner"));
+    }
+
+    @Test
+    void itemChangedOnOtherNodeIsReindexed() throws Exception {
+        User owner = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "owner"));
+        int itemId = itemStorageDb.save(new Item(0, "Бетономешалка", "На 120 литров", false, owner)).getId();
+        mockMvc.perform(get("/items/search").param("text", "бетономеш"))
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        // изменение сделано другим узлом: в базе оно есть, а локальный индекс о нём узнаёт только из outbox
+        jdbcTemplate.update("update items set available = true where id = ?", itemId);
+        cacheInvalidationHandler.apply(new CacheInvalidationMessage("other-node", CacheInvalidationType.ITEM,
+                List.of(itemId)));
+
+        mockMvc.perform(get("/items/search").param("text", "бетономеш"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(itemId));
+
+        jdbcTemplate.update("delete from items where id = ?", itemId);
+        cacheInvalidationHandler.apply(new CacheInvalidationMessage("other-node", CacheInvalidationType.ITEM,
+                List.of(itemId)));
+
+        mockMvc.perform(get("/items/search").param("text", "бетономеш"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.item.ItemStorageDb;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Общие требования к поиску вещей. Наследники поднимают контекст с нужной реализацией и базой.
+ * Каждый тест ищет по своему уникальному слову, поэтому вещи из других тестов в выдачу не попадают.
+ */
+abstract class ItemSearchEngineContractTest {
+
+    @Autowired
+    private ItemSearchEngine itemSearchEngine;
+    @Autowired
+    private ItemStorageDb itemStorageDb;
+    @Autowired
+    private UserStorageDb userStorageDb;
+
+    private User owner;
+    private String word;
+
+    @BeforeEach
+    void setUp() {
+        owner = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "owner"));
+        word = "слово" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void nameMatchesComeBeforeDescriptionMatches() {
+        int inDescription = save("Инструмент", "Подходит для работы, в описании есть " + word, true);
+        int inName = save(word, "Простое описание", true);
+
+        assertThat(search(word, 0, 10)).containsExactly(inName, inDescription);
+    }
+
+    @Test
+    void wildcardsAndBackslashAreMatchedLiterally() {
+        int percent = save(word + "%x", "", true);
+        int underscore = save(word + "_x", "", true);
+        int backslash = save(word + "\\x", "", true);
+        save(word + "ax", "", true);
+
+        assertThat(search(word + "%", 0, 10)).containsExactly(percent);
+        assertThat(search(word + "_", 0, 10)).containsExactly(underscore);
+        assertThat(search(word + "\\", 0, 10)).containsExactly(backslash);
+    }
+
+    @Test
+    void unavailableItemsAreNotFound() {
+        int available = save(word + " доступна", "", true);
+        save(word + " недоступна", "", false);
+
+        assertThat(search(word, 0, 10)).containsExactly(available);
+    }
+
+    @Test
+    void pageStartsExactlyAtFrom() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(save(word + i, "", true));
+        }
+
+        assertThat(search(word, 1, 2)).containsExactly(ids.get(1), ids.get(2));
+        assertThat(search(word, 3, 2)).containsExactly(ids.get(3), ids.get(4));
+        assertThat(search(word, 4, 10)).containsExactly(ids.get(4));
+    }
+
+    private int save(String name, String description, boolean available) {
+        return itemStorageDb.save(new Item(0, name, description, available, owner)).getId();
+    }
+
+    private List<Integer> search(String text, int from, int size) {
+        return itemSearchEngine.search(text, from, size).stream()
+                .map(Item::getId)
+                .toList();
+    }
+
+}
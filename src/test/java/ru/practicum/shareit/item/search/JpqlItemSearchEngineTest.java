@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "shareit.search.engine=jpql")
+class JpqlItemSearchEngineTest extends ItemSearchEngineContractTest {
+
+}
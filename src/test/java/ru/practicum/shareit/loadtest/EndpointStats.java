@@ -0,0 +1,46 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Латентности одного эндпоинта за прогон. Хранятся все замеры, перцентили считаются по отсортированной копии.
+ */
+class EndpointStats {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    synchronized void record(long nanos, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    synchronized int getCount() {
+        return count;
+    }
+
+    synchronized int getErrors() {
+        return errors;
+    }
+
+    synchronized double[] percentilesMillis(double... percentiles) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        double[] result = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (count > 0) {
+                int index = (int) Math.ceil(percentiles[i] / 100 * count) - 1;
+                result[i] = sorted[Math.max(index, 0)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+            }
+        }
+        return result;
+    }
+
+}
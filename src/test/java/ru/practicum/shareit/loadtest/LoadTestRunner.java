@@ -0,0 +1,283 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * Нагрузочный прогон сценариев коллекций Postman (Sprint-14-add-controllers.json, Sprint-14-add-bookings.json)
+ * на большом числе пользователей, вещей и пересекающихся бронирований.
+ * Сначала через API создаются владельцы с вещами и арендаторы с бронированиями, затем заданное число виртуальных
+ * потоков в течение заданного времени выполняет смесь запросов. По каждому эндпоинту печатаются число запросов,
+ * ошибки (ответы не 2xx), пропускная способность и перцентили p50/p95/p99.
+ * Почты пользователей получают суффикс прогона, поэтому повторный прогон против того же сервера не упирается
+ * в уникальность email. Исключение в любой задаче прерывает прогон.
+ * Без {@code loadtest.base-url} приложение поднимается в этом же процессе на H2 со случайным портом.
+ * Запуск: {@code mvn -Ploadtest -DskipTests test -Dloadtest.users=400 -Dloadtest.concurrency=128 -Dloadtest.duration=PT2M}.
+ */
+public class LoadTestRunner {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String[] ITEM_NAMES = {"Дрель", "Перфоратор", "Палатка", "Велосипед", "Лестница", "Шуруповёрт"};
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final Duration duration;
+    private final String runId = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final List<Integer> owners = new CopyOnWriteArrayList<>();
+    private final List<Integer> bookers = new CopyOnWriteArrayList<>();
+    private final List<Integer> items = new CopyOnWriteArrayList<>();
+    private final Map<Integer, Integer> ownerByItem = new ConcurrentHashMap<>();
+    private final Queue<Integer> waitingBookings = new ConcurrentLinkedQueue<>();
+    private final Map<Integer, Integer> bookingOwners = new ConcurrentHashMap<>();
+
+    LoadTestRunner(String baseUrl, Duration duration) {
+        this.baseUrl = baseUrl;
+        this.duration = duration;
+    }
+
+    public static void main(String[] args) {
+        int users = Integer.getInteger("loadtest.users", 200);
+        int itemsPerOwner = Integer.getInteger("loadtest.items-per-owner", 5);
+        int bookingsPerBooker = Integer.getInteger("loadtest.bookings-per-booker", 5);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 64);
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+        String baseUrl = System.getProperty("loadtest.base-url", "");
+
+        ConfigurableApplicationContext context = null;
+        if (baseUrl.isBlank()) {
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            context = SpringApplication.run(ShareItApp.class,
+                    "--spring.profiles.active=test",
+                    "--server.port=0",
+                    "--spring.docker.compose.enabled=false",
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.org.springframework.transaction.interceptor=WARN",
+                    "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            LoadTestRunner runner = new LoadTestRunner(baseUrl, duration);
+            long seedStart = System.nanoTime();
+            runner.seed(users, itemsPerOwner, bookingsPerBooker);
+            System.out.printf("Seeded %d users and %d items in %d ms%n", users, runner.items.size(),
+                    Duration.ofNanos(System.nanoTime() - seedStart).toMillis());
+            runner.stats.clear();
+
+            long loadStart = System.nanoTime();
+            runner.run(concurrency);
+            runner.report(System.out, Duration.ofNanos(System.nanoTime() - loadStart));
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    void seed(int users, int itemsPerOwner, int bookingsPerBooker) {
+        inParallel(users, i -> {
+            JsonNode user = post("POST /users", "/users", null,
+                    Map.of("name", "user" + i, "email", "user" + i + "-" + runId + "@loadtest.ru"));
+            if (user != null) {
+                (i % 2 == 0 ? owners : bookers).add(user.get("id").asInt());
+            }
+        });
+        requireSeeded(owners, "владельцы");
+        requireSeeded(bookers, "арендаторы");
+        inParallel(owners.size(), i -> {
+            int ownerId = owners.get(i);
+            for (int j = 0; j < itemsPerOwner; j++) {
+                String name = ITEM_NAMES[(i + j) % ITEM_NAMES.length];
+                JsonNode item = post("POST /items", "/items", ownerId,
+                        Map.of("name", name + " " + i + "-" + j, "description", name + " для аренды", "available", "true"));
+                if (item != null) {
+                    items.add(item.get("id").asInt());
+                    ownerByItem.put(item.get("id").asInt(), ownerId);
+                }
+            }
+        });
+        requireSeeded(items, "вещи");
+        inParallel(bookers.size(), i -> {
+            for (int j = 0; j < bookingsPerBooker; j++) {
+                createBooking(bookers.get(i));
+            }
+        });
+    }
+
+    void run(int concurrency) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        inParallel(concurrency, i -> {
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                step(ThreadLocalRandom.current());
+            }
+        });
+    }
+
+    private void step(ThreadLocalRandom random) {
+        int scenario = random.nextInt(100);
+        if (scenario < 25) {
+            get("GET /bookings/owner?state=CURRENT", "/bookings/owner?state=CURRENT", randomOf(owners, random));
+        } else if (scenario < 40) {
+            get("GET /bookings?state=ALL", "/bookings?state=ALL", randomOf(bookers, random));
+        } else if (scenario < 52) {
+            get("GET /items", "/items", randomOf(owners, random));
+        } else if (scenario < 67) {
+            get("GET /items/{id}", "/items/" + randomOf(items, random), randomOf(bookers, random));
+        } else if (scenario < 82) {
+            String text = ITEM_NAMES[random.nextInt(ITEM_NAMES.length)].toLowerCase();
+            get("GET /items/search", "/items/search?text=" + URLEncoder.encode(text, StandardCharsets.UTF_8), null);
+        } else if (scenario < 93) {
+            createBooking(randomOf(bookers, random));
+        } else {
+            Integer bookingId = waitingBookings.poll();
+            if (bookingId != null) {
+                approveBooking(bookingId, random.nextInt(5) > 0);
+            }
+        }
+    }
+
+    private void createBooking(int bookerId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int itemId = randomOf(items, random);
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)
+                .plusSeconds(2 + random.nextLong(Math.max(duration.toSeconds() * 2, 1)));
+        LocalDateTime end = start.plusMinutes(1 + random.nextInt(60));
+        JsonNode booking = post("POST /bookings", "/bookings", bookerId,
+                Map.of("itemId", itemId, "start", start.toString(), "end", end.toString()));
+        if (booking != null) {
+            int bookingId = booking.get("id").asInt();
+            bookingOwners.put(bookingId, ownerByItem.get(itemId));
+            waitingBookings.add(bookingId);
+        }
+    }
+
+    private void approveBooking(int bookingId, boolean approved) {
+        Integer ownerId = bookingOwners.remove(bookingId);
+        if (ownerId != null) {
+            send("PATCH /bookings/{id}?approved", HttpRequest.newBuilder(uri("/bookings/" + bookingId + "?approved=" + approved))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody()), ownerId);
+        }
+    }
+
+    private JsonNode get(String endpoint, String path, Integer userId) {
+        return send(endpoint, HttpRequest.newBuilder(uri(path)).GET(), userId);
+    }
+
+    private JsonNode post(String endpoint, String path, Integer userId, Map<String, Object> body) {
+        try {
+            return send(endpoint, HttpRequest.newBuilder(uri(path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body))), userId);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JsonNode send(String endpoint, HttpRequest.Builder request, Integer userId) {
+        if (userId != null) {
+            request.header(USER_HEADER, userId.toString());
+        }
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, key -> new EndpointStats());
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            boolean success = response.statusCode() / 100 == 2;
+            endpointStats.record(System.nanoTime() - start, success);
+            return success ? objectMapper.readTree(response.body()) : null;
+        } catch (IOException e) {
+            endpointStats.record(System.nanoTime() - start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    void report(PrintStream out, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        out.printf("%nLoad phase: %.1f s%n", seconds);
+        out.printf("%-36s %9s %8s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        int total = 0;
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(stats).entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            double[] percentiles = endpointStats.percentilesMillis(50, 95, 99, 100);
+            out.printf("%-36s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(), endpointStats.getCount(),
+                    endpointStats.getErrors(), endpointStats.getCount() / seconds,
+                    percentiles[0], percentiles[1], percentiles[2], percentiles[3]);
+            total += endpointStats.getCount();
+        }
+        out.printf("%-36s %9d %8s %9.1f%n", "Total", total, "", total / seconds);
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static int randomOf(List<Integer> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static void requireSeeded(List<Integer> ids, String what) {
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Подготовка данных не создала ни одной записи: " + what);
+        }
+    }
+
+    private static void inParallel(int tasks, IntConsumer task) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(tasks);
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> task.accept(index)));
+            }
+            try {
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                executor.shutdownNow();
+                throw new IllegalStateException("Задача нагрузочного прогона завершилась ошибкой", e.getCause());
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Нагрузочный прогон прерван", e);
+            }
+        }
+    }
+
+}
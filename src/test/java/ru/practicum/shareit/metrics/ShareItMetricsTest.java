@@ -0,0 +1,52 @@
+package ru.practicum.shareit.metrics;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesRegex;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class ShareItMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void hotPathMetricsAreScrapedByPrometheus() throws Exception {
+        String user = mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"metrics\",\"email\":\"metrics@shareit.ru\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        int userId = JsonPath.read(user, "$.id");
+
+        mockMvc.perform(get("/bookings/owner").param("state", "CURRENT").header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/items/search").param("text", "дрель"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        matchesRegex("(?s).*shareit_bookings_query_seconds_count\\{[^}]*outcome=\"success\","
+                                + "state=\"CURRENT\",view=\"owner\"} 1\\s.*"),
+                        containsString("shareit_bookings_query_results_count"),
+                        containsString("shareit_items_search_seconds_bucket"),
+                        containsString("shareit_items_search_results_count"))));
+    }
+
+}
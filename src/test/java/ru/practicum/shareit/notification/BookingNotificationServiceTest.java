@@ -0,0 +1,152 @@
+package ru.practicum.shareit.notification;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.ItemStorageDb;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = {
+        "shareit.notifications.send-timeout=PT0.5S",
+        "shareit.notifications.stall-check-delay=PT0.1S"
+})
+@AutoConfigureMockMvc
+class BookingNotificationServiceTest {
+
+    private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserStorageDb userStorageDb;
+    @Autowired
+    private ItemStorageDb itemStorageDb;
+    @Autowired
+    private BookingNotificationService bookingNotificationService;
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    @Test
+    void ownerReceivesEventsOfOwnItemsAfterCommit() throws Exception {
+        User owner = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "owner"));
+        User otherOwner = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "other owner"));
+        User booker = userStorageDb.save(new User(0, UUID.randomUUID() + "@booker.ru", "booker"));
+        Item item = itemStorageDb.save(new Item(0, "Дрель", "Простая дрель", true, owner));
+        MockHttpServletResponse ownerStream = subscribe(owner);
+        MockHttpServletResponse otherOwnerStream = subscribe(otherOwner);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto booking = bookingService.create(booker.getId(),
+                new BookingCreateDto(0, start, start.plusDays(1), item.getId(), null));
+        bookingService.updateStatus(owner.getId(), booking.getId(), true);
+
+        String events = awaitContent(ownerStream, "\"status\":\"APPROVED\"");
+        assertThat(events).contains("event:booking-created", "\"id\":" + booking.getId(), "\"status\":\"APPROVED\"");
+        assertThat(otherOwnerStream.getContentAsString()).doesNotContain("event:");
+    }
+
+    @Test
+    void stalledSubscriberDoesNotDelayOtherOwners() throws Exception {
+        User stalledOwner = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "stalled owner"));
+        User owner = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "owner"));
+        User booker = userStorageDb.save(new User(0, UUID.randomUUID() + "@booker.ru", "booker"));
+        Item stalledItem = itemStorageDb.save(new Item(0, "Дрель", "Простая дрель", true, stalledOwner));
+        Item item = itemStorageDb.save(new Item(0, "Пила", "Ручная пила", true, owner));
+        BlockingEmitter stalledStream = new BlockingEmitter();
+        bookingNotificationService.subscribe(stalledOwner.getId(), stalledStream);
+        MockHttpServletResponse ownerStream = subscribe(owner);
+
+        // пул задач приложения занят целиком, как при нескольких долгих выгрузках
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < applicationTaskExecutor.getCorePoolSize(); i++) {
+            applicationTaskExecutor.execute(() -> awaitQuietly(release));
+        }
+        try {
+            LocalDateTime start = LocalDateTime.now().plusDays(1);
+            bookingService.create(booker.getId(),
+                    new BookingCreateDto(0, start, start.plusDays(1), stalledItem.getId(), null));
+            BookingDto booking = bookingService.create(booker.getId(),
+                    new BookingCreateDto(0, start, start.plusDays(1), item.getId(), null));
+
+            assertThat(awaitContent(ownerStream, "\"id\":" + booking.getId())).contains("event:booking-created");
+            assertThat(stalledStream.error.get(5, TimeUnit.SECONDS)).isInstanceOf(InterruptedIOException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private MockHttpServletResponse subscribe(User owner) throws Exception {
+        return mockMvc.perform(get("/bookings/owner/stream").header(REQUEST_HEADER, owner.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString();
+        }
+        return content;
+    }
+
+    /**
+     * Клиент, который не читает поток: запись блокируется, пока её не прервут.
+     */
+    private static class BlockingEmitter extends SseEmitter {
+
+        private final CompletableFuture<Throwable> error = new CompletableFuture<>();
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException("Запись прервана");
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            error.complete(ex);
+            super.completeWithError(ex);
+        }
+
+    }
+
+}
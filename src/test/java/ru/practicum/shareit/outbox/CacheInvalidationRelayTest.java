@@ -0,0 +1,90 @@
+package ru.practicum.shareit.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.cache.CacheConfig;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.UpdateUser;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.outbox.relay-delay=PT1H")
+class CacheInvalidationRelayTest {
+
+    private static final String OTHER_NODE = "other-node";
+
+    @Autowired
+    private CacheInvalidationRelay cacheInvalidationRelay;
+    @Autowired
+    private CacheInvalidationHandler cacheInvalidationHandler;
+    @Autowired
+    private CacheInvalidationOutbox cacheInvalidationOutbox;
+    @Autowired
+    private CacheInvalidationStorageDb cacheInvalidationStorageDb;
+    @Autowired
+    private UserStorageDb userStorageDb;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Cache users;
+    private int userId;
+
+    @BeforeEach
+    void setUp() {
+        users = cacheManager.getCache(CacheConfig.USERS);
+        userId = userStorageDb.save(new User(0, UUID.randomUUID() + "@user.ru", "user")).getId();
+        userStorageDb.findCachedById(userId);
+        assertThat(users.get(userId)).isNotNull();
+    }
+
+    @Test
+    void changeRecordedByOtherNodeEvictsLocalCache() {
+        cacheInvalidationStorageDb.save(new CacheInvalidation(CacheInvalidationType.USER, userId, OTHER_NODE,
+                LocalDateTime.now()));
+
+        cacheInvalidationRelay.relay();
+
+        assertThat(users.get(userId)).isNull();
+        assertThat(cacheInvalidationStorageDb.findAll()).isEmpty();
+    }
+
+    @Test
+    void ownMessagesAreSkipped() {
+        cacheInvalidationHandler.apply(new CacheInvalidationMessage(cacheInvalidationOutbox.getNodeId(),
+                CacheInvalidationType.USER, List.of(userId)));
+
+        assertThat(users.get(userId)).isNotNull();
+    }
+
+    @Test
+    void committedChangeIsPublishedWithoutWaitingForSchedule() throws Exception {
+        Long recorded = new TransactionTemplate(transactionManager).execute(status -> {
+            userService.updateUser(userId, new UpdateUser(null, "renamed"));
+            return cacheInvalidationStorageDb.count();
+        });
+        assertThat(recorded).isPositive();
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (cacheInvalidationStorageDb.count() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(cacheInvalidationStorageDb.count()).isZero();
+    }
+
+}
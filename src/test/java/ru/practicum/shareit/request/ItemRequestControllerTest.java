@@ -0,0 +1,114 @@
+package ru.practicum.shareit.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.diagnostics.QueryBudget;
+import ru.practicum.shareit.pagination.KeysetPage;
+import ru.practicum.shareit.user.UserStorageDb;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.diagnostics.sql.headers=true")
+@AutoConfigureMockMvc
+class ItemRequestControllerTest {
+
+    private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserStorageDb userStorageDb;
+
+    private int requestorId;
+    private int ownerId;
+    private final int[] requestIds = new int[3];
+
+    @BeforeEach
+    void setUp() throws Exception {
+        requestorId = userStorageDb.save(new User(0, UUID.randomUUID() + "@requestor.ru", "requestor")).getId();
+        ownerId = userStorageDb.save(new User(0, UUID.randomUUID() + "@owner.ru", "owner")).getId();
+        for (int i = 0; i < requestIds.length; i++) {
+            String response = mockMvc.perform(post("/requests")
+                            .header(REQUEST_HEADER, requestorId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"description\":\"Нужна дрель " + i + "\"}"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            requestIds[i] = objectMapper.readTree(response).get("id").asInt();
+        }
+        mockMvc.perform(post("/items")
+                        .header(REQUEST_HEADER, ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Дрель\",\"description\":\"Простая дрель\",\"available\":\"true\"," +
+                                "\"requestId\":" + requestIds[1] + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requestId").value(requestIds[1]));
+    }
+
+    @Test
+    void usersRequestsArePagedByCursorWithAnswers() throws Exception {
+        String cursor = mockMvc.perform(get("/requests").param("size", "2").header(REQUEST_HEADER, requestorId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(contains(requestIds[2], requestIds[1])))
+                .andExpect(jsonPath("$[0].items", hasSize(0)))
+                .andExpect(jsonPath("$[1].items[0].name").value("Дрель"))
+                .andExpect(jsonPath("$[1].items[0].ownerId").value(ownerId))
+                .andReturn().getResponse().getHeader(KeysetPage.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/requests").param("size", "2").param("cursor", cursor)
+                        .header(REQUEST_HEADER, requestorId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(contains(requestIds[0])))
+                .andExpect(header().doesNotExist(KeysetPage.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void offsetPagingStartsExactlyAtFrom() throws Exception {
+        mockMvc.perform(get("/requests").param("from", "1").param("size", "2").header(REQUEST_HEADER, requestorId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(contains(requestIds[1], requestIds[0])));
+    }
+
+    @Test
+    void otherUsersFeedLoadsAnswersForWholePageInOneQuery() throws Exception {
+        mockMvc.perform(get("/requests/all").param("size", "3").header(REQUEST_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(contains(requestIds[2], requestIds[1], requestIds[0])))
+                .andExpect(jsonPath("$[1].items[0].ownerId").value(ownerId))
+                .andExpect(QueryBudget.atMost(3));
+
+        mockMvc.perform(get("/requests/all").header(REQUEST_HEADER, requestorId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(not(hasItem(requestIds[0]))));
+    }
+
+    @Test
+    void requestIsFoundByIdWithAnswers() throws Exception {
+        mockMvc.perform(get("/requests/{requestId}", requestIds[1]).header(REQUEST_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Нужна дрель 1"))
+                .andExpect(jsonPath("$.items[0].name").value("Дрель"));
+        mockMvc.perform(get("/requests/{requestId}", Integer.MAX_VALUE).header(REQUEST_HEADER, ownerId))
+                .andExpect(status().isNotFound());
+    }
+
+}